@@ -0,0 +1,83 @@
+package minesweeper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the construction of {@link MinesweeperBoard} objects, and the
+ * two ways of setting up a reused board for the next game: generating its
+ * mines anew, and loading them from a memory-mapped {@link BoardCorpus}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+	@Param({"beginner", "intermediate", "expert", "huge"})
+	public BoardSize size;
+
+	private SplittableRandom random;
+	private int[][] layout;
+	private MinesweeperBoard board, reused;
+	private Path path;
+	private BoardCorpus corpus;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		random = new SplittableRandom(42);
+		board = new MinesweeperBoard(size.width, size.height, size.mines, random);
+		reused = new MinesweeperBoard(size.width, size.height, size.mines, random);
+		layout = new int[size.height][size.width];
+		for (int row = 0; row < size.height; row++)
+			for (int col = 0; col < size.width; col++)
+				layout[row][col] = board.isMine(board.getIndex(row, col)) ? 1 : 0;
+		path = Files.createTempFile("corpus", ".bin");
+		try (BoardCorpus.Writer writer = new BoardCorpus.Writer(path, size.width, size.height)) {
+			for (int i = 0; i < 64; i++)
+				writer.add(new MinesweeperBoard(size.width, size.height, size.mines, random));
+		}
+		corpus = new BoardCorpus(path);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		corpus.close();
+		Files.delete(path);
+	}
+
+	@Benchmark
+	public MinesweeperBoard random() {
+		return new MinesweeperBoard(size.width, size.height, size.mines, random);
+	}
+
+	@Benchmark
+	public MinesweeperBoard fromArray() {
+		return new MinesweeperBoard(layout);
+	}
+
+	@Benchmark
+	public MinesweeperBoard regenerate() {
+		reused.regenerate(random);
+		return reused;
+	}
+
+	@Benchmark
+	public MinesweeperBoard loadCorpus() {
+		next = next + 1 & 63;
+		return corpus.load(next, reused);
+	}
+
+	@Benchmark
+	public MinesweeperBoard adjacentCounts() {
+		board.calculateAdjacentCounts();
+		return board;
+	}
+}
@@ -0,0 +1,22 @@
+package minesweeper;
+
+/**
+ * The board configurations measured by the benchmarks.  Each benchmark
+ * exposes these through a <code>size</code> parameter, e.g.
+ * <code>-p size=expert</code>.
+ */
+public enum BoardSize {
+	beginner(9, 9, 10),
+	intermediate(16, 16, 40),
+	expert(30, 16, 99),
+	huge(1000, 1000, 150000),
+	sparse(1000, 1000, 50000);
+
+	final int width, height, mines;
+
+	BoardSize(int width, int height, int mines) {
+		this.width = width;
+		this.height = height;
+		this.mines = mines;
+	}
+}
@@ -0,0 +1,62 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+
+/**
+ * A snapshot of a board together with the game that a
+ * {@link MinesweeperSolver} is playing on it.  Benchmarks build a position
+ * once and restore it with {@link #copyFrom(Position)} before each
+ * invocation, so a single deduction stage can be measured in isolation.
+ */
+final class Position {
+	final MinesweeperBoard board;
+	final MinesweeperSolver solver = new MinesweeperSolver();
+
+	Position(MinesweeperBoard board) {
+		this.board = board;
+		solver.begin(board);
+	}
+
+	Position(Position other) {
+		this(new MinesweeperBoard(other.board));
+		copyFrom(other);
+	}
+
+	void copyFrom(Position other) {
+		board.copyFrom(other.board);
+		solver.copyFrom(other.solver, board);
+	}
+
+	/**
+	 * Plays the opening move the way the solver does: reveals a random tile
+	 * and the cascade of zero tiles around it, leaving every numbered tile
+	 * that was uncovered queued for sweeping.
+	 *
+	 * @return <code>false</code> if the opening move revealed a mine.
+	 */
+	boolean open(SplittableRandom random) {
+		solver.reveal(board.getIndex(random.nextInt(board.getHeight()), random.nextInt(board.getWidth())));
+		return !board.hasRevealedMine();
+	}
+
+	/**
+	 * Sweeps until no progress is made, i.e. up to the point where the
+	 * solver would reduce constraints or guess.
+	 */
+	void settle() {
+		solver.sweep_board();
+	}
+
+	/**
+	 * Builds an opened position on a random board of the given size, retrying
+	 * with new boards until the opening move is safe and starts a cascade.
+	 */
+	static Position opened(BoardSize size, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		while (true) {
+			Position position = new Position(new MinesweeperBoard(size.width, size.height, size.mines, random));
+			if (position.open(random) && position.solver.unknown < size.width * size.height - 1)
+				return position;
+		}
+	}
+}
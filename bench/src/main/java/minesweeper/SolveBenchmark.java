@@ -0,0 +1,70 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures complete games played by {@link MinesweeperSolver}.  The games
+ * cycle through a fixed set of seeded boards, each reset before it is
+ * played, so every run sees the same mix of easy and hard positions.
+ * {@link #solve()} plays every game with a new solver, including the
+ * allocation of its state, {@link #solveWithSolver()} reuses one solver for
+ * all games, and {@link #solveChunked()} plays them on
+ * {@link ChunkedBoard}s instead, including the construction of each board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveBenchmark {
+	private static final int BOARDS = 64;
+
+	@Param({"beginner", "intermediate", "expert", "huge", "sparse"})
+	public BoardSize size;
+
+	@Param({"false", "true"})
+	public boolean exact;
+
+	private MinesweeperBoard[] boards;
+	private SplittableRandom random;
+	private SolverConfig config;
+	private MinesweeperSolver solver;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		random = new SplittableRandom(42);
+		boards = new MinesweeperBoard[size.width * size.height > 100000 ? 4 : BOARDS];
+		for (int i = 0; i < boards.length; i++)
+			boards[i] = new MinesweeperBoard(size.width, size.height, size.mines, random);
+		config = new SolverConfig(exact);
+		solver = new MinesweeperSolver(config);
+	}
+
+	@Benchmark
+	public int solve() {
+		MinesweeperBoard board = boards[next];
+		next = (next + 1) % boards.length;
+		board.reset();
+		return new MinesweeperSolver(config).solve(board, random);
+	}
+
+	@Benchmark
+	public int solveWithSolver() {
+		MinesweeperBoard board = boards[next];
+		next = (next + 1) % boards.length;
+		board.reset();
+		return solver.solve(board, random);
+	}
+
+	@Benchmark
+	public int solveChunked() {
+		ChunkedBoard board = new ChunkedBoard(size.width, size.height, size.mines, next);
+		next = (next + 1) % boards.length;
+		return solver.solve(board, random);
+	}
+}
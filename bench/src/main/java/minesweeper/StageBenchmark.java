@@ -0,0 +1,66 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the individual stages of {@link MinesweeperSolver} on a fixed
+ * position: sweeping the cells uncovered by the opening move, reducing the
+ * constraints of the swept cells once sweeping is stuck, and drawing a
+ * heuristic guess once nothing can be deduced.  The sweep and reduction
+ * benchmarks first restore the position, so the cost of {@link #restore()}
+ * should be subtracted from their results.  The guess benchmark draws
+ * repeatedly from the stuck position without restoring it: its first draw
+ * rescores the swept cells, and every later one draws from the score index
+ * as a game does once its scores are current.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StageBenchmark {
+	@Param({"beginner", "intermediate", "expert", "huge"})
+	public BoardSize size;
+
+	private Position opened, stuck, work, guessing;
+	private final SplittableRandom random = new SplittableRandom(42);
+
+	@Setup(Level.Trial)
+	public void setup() {
+		opened = Position.opened(size, 42);
+		stuck = new Position(opened);
+		stuck.settle();
+		work = new Position(opened);
+		guessing = new Position(stuck);
+	}
+
+	@Benchmark
+	public Position restore() {
+		work.copyFrom(stuck);
+		return work;
+	}
+
+	@Benchmark
+	public int sweepBoard() {
+		Position p = work;
+		p.copyFrom(opened);
+		return p.solver.sweep_board();
+	}
+
+	@Benchmark
+	public Position reduceConstraints() {
+		Position p = work;
+		p.copyFrom(stuck);
+		p.solver.reduceConstraints();
+		return p;
+	}
+
+	@Benchmark
+	public int guess() {
+		return guessing.solver.guess(random);
+	}
+}
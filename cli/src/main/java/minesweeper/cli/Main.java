@@ -0,0 +1,165 @@
+package minesweeper.cli;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import minesweeper.BoardCorpus;
+import minesweeper.MinesweeperBoard;
+import minesweeper.ResultReader;
+import minesweeper.ResultWriter;
+import minesweeper.SolverConfig;
+import minesweeper.TrialRunner;
+import minesweeper.TrialStats;
+
+/**
+ * Plays a series of games on random boards and prints the statistics.
+ *
+ * <pre>
+ * usage: minesweeper [width height mines | -c corpus] [-n trials] [-s seed] [-t threads] [-x] [-e cells] [-f any|safe|zero] [-o opening] [-m json|csv] [-w file]
+ *        minesweeper [width height mines] [-n trials] [-s seed] -g corpus
+ *        minesweeper -r file
+ * </pre>
+ *
+ * The defaults are 10x10 boards with 12 mines, 10000 trials, a random seed,
+ * one thread per processor and the heuristic solver; <code>-x</code> selects
+ * the exact solver.  <code>-e</code> sets the number of hidden tiles from
+ * which the solver plays the endgame, taking the number of mines left into
+ * account (64 by default, 0 to disable it).  <code>-f</code> sets what the
+ * first reveal of each game is guaranteed to uncover (nothing by default)
+ * and <code>-o</code> where the solver reveals it: <code>random</code> (the
+ * default), <code>corner</code>, <code>edge</code>, <code>center</code> or
+ * <code>optimal</code>.  <code>-m</code> prints the metrics of the solver
+ * stages after the statistics, as JSON or CSV.  <code>-w</code> writes the
+ * record of every game to a result file, and <code>-r</code> prints the
+ * summary of a result file instead of playing.  <code>-g</code> writes the
+ * boards of the trials to a corpus file instead of playing them, and
+ * <code>-c</code> plays the boards of a corpus file.
+ */
+public class Main {
+	private static final String USAGE = "usage: minesweeper [width height mines | -c corpus] [-n trials] [-s seed] [-t threads] [-x] [-e cells] [-f any|safe|zero] [-o opening] [-m json|csv] [-w file]\n"
+		+ "       minesweeper [width height mines] [-n trials] [-s seed] -g corpus\n"
+		+ "       minesweeper -r file";
+
+	public static void main(String[] args) {
+		int width = 10, height = 10, mines = 12, trials = 10000;
+		int threads = Runtime.getRuntime().availableProcessors();
+		Long seed = null;
+		boolean exact = false;
+		int endgame = SolverConfig.DEFAULT_ENDGAME_LIMIT;
+		MinesweeperBoard.FirstReveal firstReveal = MinesweeperBoard.FirstReveal.ANY;
+		SolverConfig.Opening opening = SolverConfig.Opening.RANDOM;
+		String metrics = null, write = null, read = null, generate = null, play = null;
+		TrialRunner runner;
+
+		try {
+			int positional = 0;
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "-n":
+					trials = Integer.parseInt(value(args, ++i));
+					break;
+				case "-s":
+					seed = Long.parseLong(value(args, ++i));
+					break;
+				case "-t":
+					threads = Integer.parseInt(value(args, ++i));
+					break;
+				case "-x":
+					exact = true;
+					break;
+				case "-e":
+					endgame = Integer.parseInt(value(args, ++i));
+					break;
+				case "-f":
+					firstReveal = MinesweeperBoard.FirstReveal.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+					break;
+				case "-o":
+					opening = SolverConfig.Opening.valueOf(value(args, ++i).toUpperCase(Locale.ROOT));
+					break;
+				case "-w":
+					write = value(args, ++i);
+					break;
+				case "-r":
+					read = value(args, ++i);
+					break;
+				case "-g":
+					generate = value(args, ++i);
+					break;
+				case "-c":
+					play = value(args, ++i);
+					break;
+				case "-m":
+					metrics = value(args, ++i);
+					if (!metrics.equals("json") && !metrics.equals("csv"))
+						throw new IllegalArgumentException();
+					break;
+				default:
+					int n = Integer.parseInt(args[i]);
+					switch (positional++) {
+					case 0: width = n; break;
+					case 1: height = n; break;
+					case 2: mines = n; break;
+					default: throw new IllegalArgumentException();
+					}
+				}
+			}
+			if ((positional != 0 && positional != 3) || (positional != 0 && play != null) || trials < 0 || threads < 1 || endgame < 0)
+				throw new IllegalArgumentException();
+			if (seed == null)
+				seed = new SplittableRandom().nextLong();
+			runner = new TrialRunner(width, height, mines, seed);
+		} catch (IllegalArgumentException e) {
+			System.err.println(USAGE);
+			System.exit(2);
+			return;
+		}
+
+		try {
+			if (read != null) {
+				try (ResultReader reader = new ResultReader(Paths.get(read))) {
+					System.out.println(reader.summarize());
+				}
+				return;
+			}
+			if (generate != null) {
+				try (BoardCorpus.Writer writer = new BoardCorpus.Writer(Paths.get(generate), width, height)) {
+					MinesweeperBoard board = new MinesweeperBoard(width, height, mines);
+					for (int i = 0; i < trials; i++) {
+						board.regenerate(runner.getTrialSeed(i));
+						writer.add(board);
+					}
+				}
+				return;
+			}
+		} catch (IOException e) {
+			System.err.println(e);
+			System.exit(1);
+			return;
+		}
+
+		try (BoardCorpus corpus = play != null ? new BoardCorpus(Paths.get(play)) : null;
+			ResultWriter results = write != null ? new ResultWriter(Paths.get(write)) : null) {
+			if (corpus != null)
+				runner = new TrialRunner(corpus, seed);
+			runner.setResults(results);
+			runner.setConfig(new SolverConfig(exact).setEndgameLimit(endgame).setOpening(opening).setMetrics(metrics != null));
+			runner.setFirstReveal(firstReveal);
+			System.out.println("seed == " + runner.getSeed());
+			TrialStats stats = threads == 1 ? runner.runSequential(trials) : runner.runParallel(trials, threads);
+			System.out.println(stats);
+			if (metrics != null)
+				System.out.print(metrics.equals("json") ? stats.getMetrics().toJson() + "\n" : stats.getMetrics().toCsv());
+		} catch (IOException e) {
+			System.err.println(e);
+			System.exit(1);
+		}
+	}
+
+	private static String value(String[] args, int i) {
+		if (i >= args.length)
+			throw new IllegalArgumentException();
+		return args[i];
+	}
+}
@@ -0,0 +1,120 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Row bitmasks of the hidden and the flagged cells of a board whose rows fit
+ * in a <code>long</code>.  Bit <code>column</code> of element
+ * <code>row + 1</code> describes the tile at <code>(row, column)</code>; the
+ * first and last elements are the empty rows of the border, so the hidden
+ * cells or mines around any tile are counted with three masked
+ * {@link Long#bitCount(long)} calls instead of eight comparisons.
+ */
+final class Bitboard {
+	/* Bits of the columns adjacent to and including each column. */
+	private static final long[] WINDOW = new long[64];
+	static {
+		WINDOW[0] = 3L;
+		for (int col = 1; col < 64; col++)
+			WINDOW[col] = 7L << (col - 1);
+	}
+
+	/* Position of the hidden count in the result of around(). */
+	static final int HIDDEN_SHIFT = 4;
+	/* Extracts the flagged count from the result of around(). */
+	static final int MINES_MASK = (1 << HIDDEN_SHIFT) - 1;
+
+	private final long[] hidden, mines;
+	private final int stride;
+	/* 2^32 / stride rounded up, so that row() divides by multiplying. */
+	private final long reciprocal;
+
+	/**
+	 * Indicates whether the rows of a board of the given dimensions fit in
+	 * the masks.  The height is limited only so that the row of a cell index
+	 * can be computed exactly by {@link #row(int)}.
+	 */
+	static boolean fits(int width, int height) {
+		return width <= 64 && (long)(width + 2) * (width + 2) * (height + 2) < 1L << 32;
+	}
+
+	/* All tiles are initially hidden. */
+	Bitboard(int width, int height) {
+		hidden = new long[height + 2];
+		mines = new long[height + 2];
+		stride = width + 2;
+		reciprocal = (1L << 32) / stride + 1;
+		clear();
+	}
+
+	/* Hides all tiles again. */
+	void clear() {
+		int width = stride - 2;
+		long row = width == 64 ? -1L : (1L << width) - 1;
+		for (int i = 1; i < hidden.length - 1; i++)
+			hidden[i] = row;
+		Arrays.fill(mines, 0L);
+	}
+
+	/* Records the new solver state of cell c. */
+	void update(int c, int value) {
+		int row = row(c);
+		long bit = 1L << (c - row * stride - 1);
+		if (value == MinesweeperBoard.HIDDEN)
+			hidden[row] |= bit;
+		else
+			hidden[row] &= ~bit;
+		if (value == MinesweeperBoard.MINE)
+			mines[row] |= bit;
+		else
+			mines[row] &= ~bit;
+	}
+
+	/**
+	 * Computes the score of cell c as {@link MinesweeperSolver} defines it:
+	 * the largest fraction of still unflagged mines among the hidden
+	 * neighbors of any numbered neighbor of c.  The row of c is computed
+	 * once and the row masks of all eight neighbors are read from the five
+	 * rows around it.
+	 */
+	double score(int c, byte[] state) {
+		int row = row(c), col = c - row * stride - 1, n, r, dx, dy;
+		long window;
+		double prob, score = 0.0;
+		for (dy = -1; dy <= 1; dy++)
+			for (dx = -1; dx <= 1; dx++) {
+				if ((dx | dy) == 0 || (n = state[c + dy * stride + dx]) <= 0)	/* zero, hidden, mine or border */
+					continue;
+				r = row + dy;
+				window = WINDOW[col + dx];	/* col + dx is on the board, or state would be the border */
+				n -= Long.bitCount(mines[r - 1] & window) + Long.bitCount(mines[r] & window) + Long.bitCount(mines[r + 1] & window);
+				if ((prob = n * 1.0 / (Long.bitCount(hidden[r - 1] & window) + Long.bitCount(hidden[r] & window) + Long.bitCount(hidden[r + 1] & window))) > score)
+					score = prob;
+			}
+		return score;
+	}
+
+	/* c / stride, exact for every cell index of the board (see fits()). */
+	private int row(int c) {
+		return (int)(c * reciprocal >>> 32);
+	}
+
+	void copyFrom(Bitboard other) {
+		System.arraycopy(other.hidden, 0, hidden, 0, hidden.length);
+		System.arraycopy(other.mines, 0, mines, 0, mines.length);
+	}
+
+	/**
+	 * Counts the hidden and the flagged cells among cell c and its eight
+	 * neighbors.
+	 *
+	 * @return The number of hidden cells shifted left by
+	 * {@link #HIDDEN_SHIFT}, plus the number of flagged cells.
+	 */
+	int around(int c) {
+		int row = row(c);
+		long window = WINDOW[c - row * stride - 1];
+		return (Long.bitCount(hidden[row - 1] & window) + Long.bitCount(hidden[row] & window) + Long.bitCount(hidden[row + 1] & window)) << HIDDEN_SHIFT
+			| Long.bitCount(mines[row - 1] & window) + Long.bitCount(mines[row] & window) + Long.bitCount(mines[row + 1] & window);
+	}
+}
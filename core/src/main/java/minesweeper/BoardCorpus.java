@@ -0,0 +1,222 @@
+package minesweeper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A file of boards of one size, mapped into memory, from which boards are
+ * loaded for play.  Series of games on the same corpus play identical
+ * boards, so solvers can be compared on the same inputs.
+ *
+ * <p>The file starts with a 16-byte header: the magic number
+ * {@link #MAGIC}, the format {@link #VERSION}, the width and the height.
+ * Then follows one record per board, the bitmap of its mines as read by
+ * {@link MinesweeperBoard#loadMines(LongBuffer,int)}: one bit per tile in
+ * row-major order, in big-endian <code>long</code>s.  An expert board takes
+ * 64 bytes.  Files are written by {@link Writer}.
+ *
+ * <p>The records are mapped in segments of less than 2 GiB and loaded
+ * straight from the mapping into the board's own state, so loading a board
+ * neither parses nor copies the record.  The mapping is read with absolute
+ * gets only, so one corpus can feed the threads of a parallel run.
+ */
+public class BoardCorpus implements Closeable {
+	/**
+	 * The first four bytes of a corpus file, <code>"MSBC"</code>.
+	 */
+	public static final int MAGIC = 0x4d534243;
+
+	/**
+	 * The version of the format of the records.
+	 */
+	public static final int VERSION = 1;
+
+	private static final int HEADER = 16;
+
+	private final FileChannel channel;
+	private final int width, height, words, size, perSegment;
+	private final LongBuffer[] segments;
+
+	/**
+	 * Opens a corpus file and maps its records into memory.
+	 *
+	 * @param path The file to read.
+	 * @throws IOException If the file cannot be read, is not a corpus file
+	 * of the current version, or ends within a record.
+	 * @throws IllegalArgumentException If <code>path</code> is
+	 * <code>null</code>.
+	 */
+	public BoardCorpus(Path path) throws IOException {
+		if (path == null)
+			throw new IllegalArgumentException();
+
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			while (header.hasRemaining() && channel.read(header) >= 0)
+				;
+			header.flip();
+			if (header.remaining() < HEADER || header.getInt() != MAGIC || header.getInt() != VERSION)
+				throw new IOException("not a corpus file: " + path);
+			width = header.getInt();
+			height = header.getInt();
+			if (width < 1 || height < 1 || (long)width * height > Integer.MAX_VALUE - 63)
+				throw new IOException("not a corpus file: " + path);
+			words = (width * height + 63) >>> 6;
+			long bytes = channel.size() - HEADER, record = words * 8L;
+			if (bytes % record != 0 || bytes / record > Integer.MAX_VALUE)
+				throw new IOException("truncated corpus file: " + path);
+			size = (int)(bytes / record);
+			perSegment = (int)Math.max(1, Integer.MAX_VALUE / record);
+			segments = new LongBuffer[(int)((size + (long)perSegment - 1) / perSegment)];
+			for (int s = 0; s < segments.length; s++) {
+				long first = (long)s * perSegment;
+				segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + first * record,
+					Math.min(perSegment, size - first) * record).asLongBuffer();
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the width of the boards of this corpus.
+	 *
+	 * @return The width of the boards.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the boards of this corpus.
+	 *
+	 * @return The height of the boards.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the number of boards in this corpus.
+	 *
+	 * @return The number of boards.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Loads a board of this corpus, with all tiles hidden.  Like
+	 * {@link MinesweeperBoard#regenerate(java.util.SplittableRandom)}, the
+	 * board is loaded into the given board if it has the dimensions of the
+	 * corpus; otherwise a new board is allocated.
+	 *
+	 * @param i The index of the board, in the range <code>[0, size())</code>.
+	 * @param board The board to load into, or <code>null</code>.
+	 * @return The loaded board.
+	 * @throws IllegalArgumentException If <code>i</code> is out of range.
+	 */
+	public MinesweeperBoard load(int i, MinesweeperBoard board) {
+		if (i < 0 || i >= size)
+			throw new IllegalArgumentException();
+
+		if (board == null || board.getWidth() != width || board.getHeight() != height)
+			board = new MinesweeperBoard(width, height, 0);
+		board.loadMines(segments[i / perSegment], i % perSegment * words);
+		return board;
+	}
+
+	/**
+	 * Closes the file.  Boards already loaded are unaffected.
+	 *
+	 * @throws IOException If closing the file failed.
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Writes a corpus file, appending one board at a time.
+	 */
+	public static final class Writer implements Closeable {
+		private final FileChannel channel;
+		private final int width, height, words;
+		private final ByteBuffer buffer;
+		private final LongBuffer longs;
+
+		/**
+		 * Creates a corpus file for boards of the given dimensions, replacing
+		 * any existing file, and writes its header.
+		 *
+		 * @param path The file to write.
+		 * @param width The width of the boards.
+		 * @param height The height of the boards.
+		 * @throws IOException If the file cannot be created or written.
+		 * @throws IllegalArgumentException If <code>path</code> is
+		 * <code>null</code> or the dimensions are not positive.
+		 */
+		public Writer(Path path, int width, int height) throws IOException {
+			if (path == null || width < 1 || height < 1 || (long)width * height > Integer.MAX_VALUE - 63)
+				throw new IllegalArgumentException();
+
+			this.width = width;
+			this.height = height;
+			words = (width * height + 63) >>> 6;
+			buffer = ByteBuffer.allocateDirect(Math.max(1, (1 << 16) / (words * 8)) * words * 8);
+			longs = buffer.asLongBuffer();
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height).flip();
+			write();
+		}
+
+		/**
+		 * Appends the mines of a board to the corpus.
+		 *
+		 * @param board The board to append.
+		 * @throws IOException If the file cannot be written.
+		 * @throws IllegalArgumentException If the board does not have the
+		 * dimensions of the corpus.
+		 */
+		public void add(MinesweeperBoard board) throws IOException {
+			if (board == null || board.getWidth() != width || board.getHeight() != height)
+				throw new IllegalArgumentException();
+
+			if (longs.remaining() < words)
+				flush();
+			board.storeMines(longs, longs.position());
+			longs.position(longs.position() + words);
+		}
+
+		private void flush() throws IOException {
+			buffer.limit(longs.position() * 8).position(0);
+			write();
+			longs.clear();
+		}
+
+		private void write() throws IOException {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+			buffer.clear();
+		}
+
+		/**
+		 * Writes the boards still buffered and closes the file.
+		 *
+		 * @throws IOException If writing or closing the file failed.
+		 */
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package minesweeper;
+
+/**
+ * A board that {@link MinesweeperSolver#solve(BoardOracle,java.util.SplittableRandom)}
+ * can play: a {@link BoardView} whose tiles can also be revealed.
+ * {@link MinesweeperBoard} is the reference implementation; others may
+ * forward the moves to a remote game, replay a recorded one or keep the
+ * board in a compressed form, without any change to the solver.
+ *
+ * <p>The solver reveals tiles with {@link #revealRegion(int, int[])}, so
+ * implementations that can fill a region of zeros faster than one tile at a
+ * time should override it.  It never reveals a tile twice or after a mine
+ * has been revealed.
+ */
+public interface BoardOracle extends BoardView {
+	/**
+	 * Reveals the tile with a specified cell index and returns its visible
+	 * state, i.e. {@link MinesweeperBoard#MINE} or the number of adjacent
+	 * mines.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @return The visible state of the revealed tile.
+	 * @throws IllegalStateException If a mine has previously been revealed.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on the board, or if the tile had been revealed previously.
+	 */
+	int reveal(int index);
+
+	/**
+	 * Reveals the tile with a specified cell index and, if it is a zero,
+	 * the connected region of zeros around it together with the numbered
+	 * tiles that border the region, as a player's click would.  The cell
+	 * indices of all tiles revealed by the call are stored in
+	 * <code>out</code>, the given tile first.
+	 *
+	 * <p>The default implementation reveals the region one tile at a time
+	 * with {@link #reveal(int)}.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @param out The array that receives the cell indices of the revealed
+	 * tiles.  It must have room for every hidden tile of the board.
+	 * @return The number of tiles revealed.
+	 * @throws IllegalStateException If a mine has previously been revealed.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on the board, or if the tile had been revealed previously.
+	 */
+	default int revealRegion(int index, int[] out) {
+		final int width = getWidth(), height = getHeight(), stride = width + 2;
+		int n = 0;
+		out[n++] = index;
+		if (reveal(index) != 0)
+			return n;
+		for (int i = 0; i < n; i++) {
+			if (tileAt(out[i]) != 0)
+				continue;
+			int row = out[i] / stride - 1, column = out[i] % stride - 1;
+			for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, height - 1); r++)
+				for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, width - 1); c++) {
+					int neighbor = (r + 1) * stride + c + 1;
+					if (tileAt(neighbor) == MinesweeperBoard.HIDDEN) {
+						reveal(neighbor);
+						out[n++] = neighbor;
+					}
+				}
+		}
+		return n;
+	}
+}
@@ -0,0 +1,87 @@
+package minesweeper;
+
+/**
+ * A read-only view of a Minesweeper board in play, as seen by a player:
+ * the dimensions, the number of mines and the visible state of each tile.
+ * Tiles are addressed by the cell indices of {@link MinesweeperBoard}, i.e.
+ * the tile at <code>(row, column)</code> has index
+ * <code>(row + 1) * (getWidth() + 2) + column + 1</code>.
+ *
+ * <p>{@link #getRevealed()} lets an observer such as
+ * {@link MinesweeperSolver#nextMove(BoardView)} notice that tiles were
+ * revealed without examining every tile.
+ *
+ * @see BoardOracle
+ */
+public interface BoardView {
+	/**
+	 * Returns the width of the board.
+	 *
+	 * @return The width of the board.
+	 */
+	int getWidth();
+
+	/**
+	 * Returns the height of the board.
+	 *
+	 * @return The height of the board.
+	 */
+	int getHeight();
+
+	/**
+	 * Returns the number of mines on the board.
+	 *
+	 * @return The number of mines on the board.
+	 */
+	int getMines();
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index:
+	 * {@link MinesweeperBoard#HIDDEN}, {@link MinesweeperBoard#MINE} or the
+	 * number of adjacent mines.
+	 *
+	 * @param index The cell index of the tile to examine.
+	 * @return The visible state of the tile.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on the board.
+	 */
+	int getTile(int index);
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index
+	 * without checking the index, for callers that only pass indices of
+	 * tiles on the board.  The result is unspecified for other indices.
+	 *
+	 * @param index The cell index of a tile on the board.
+	 * @return The visible state of the tile.
+	 * @see #getTile(int)
+	 */
+	default int tileAt(int index) {
+		return getTile(index);
+	}
+
+	/**
+	 * Returns the number of tiles revealed so far.  The count only grows
+	 * while a game is played.
+	 *
+	 * @return The number of revealed tiles.
+	 */
+	int getRevealed();
+
+	/**
+	 * Indicates whether a mine tile has been revealed, i.e. the game is lost.
+	 *
+	 * @return <code>true</code> if a mine tile has been revealed.
+	 */
+	boolean hasRevealedMine();
+
+	/**
+	 * Returns what the first reveal of the game is guaranteed to uncover.
+	 * The default implementation guarantees nothing.
+	 *
+	 * @return The guarantee for the first reveal.
+	 */
+	default MinesweeperBoard.FirstReveal getFirstReveal() {
+		return MinesweeperBoard.FirstReveal.ANY;
+	}
+}
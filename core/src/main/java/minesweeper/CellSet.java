@@ -0,0 +1,91 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * A set of cell indices in the range <code>[0, capacity)</code> with
+ * constant-time insertion, removal and membership tests.  The members are
+ * kept densely packed, so iterating over them with {@link #size()} and
+ * {@link #get(int)} visits only the members and allocates nothing.
+ * Removing a member moves the last member into its position.
+ *
+ * <p>The positions of the members are kept in pages of
+ * <code>1 &lt;&lt; PAGE_BITS</code> cells that are allocated when a cell of
+ * the page is first added, and the packed members grow with the set, so a
+ * set only ever holding cells near the explored part of a large board stays
+ * small.  Pages and capacity are kept when the set is cleared.
+ */
+class CellSet {
+	static final int PAGE_BITS = 12;
+	private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+	private int[] dense;
+	private final int[][] position;
+	private int size;
+
+	CellSet(int capacity) {
+		dense = new int[Math.min(capacity, 64)];
+		position = new int[(capacity + PAGE_MASK) >>> PAGE_BITS][];
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int i) {
+		return dense[i];
+	}
+
+	boolean contains(int cell) {
+		int[] page = position[cell >>> PAGE_BITS];
+		int p;
+		return page != null && (p = page[cell & PAGE_MASK]) < size && dense[p] == cell;
+	}
+
+	void add(int cell) {
+		if (contains(cell))
+			return;
+		int[] page = position[cell >>> PAGE_BITS];
+		if (page == null)
+			page = position[cell >>> PAGE_BITS] = new int[PAGE_MASK + 1];
+		if (size == dense.length)
+			dense = Arrays.copyOf(dense, size * 2);
+		dense[size] = cell;
+		page[cell & PAGE_MASK] = size++;
+	}
+
+	void remove(int cell) {
+		if (!contains(cell))
+			return;
+		int last = dense[--size], p = position[cell >>> PAGE_BITS][cell & PAGE_MASK];
+		dense[p] = last;
+		position[last >>> PAGE_BITS][last & PAGE_MASK] = p;
+	}
+
+	/**
+	 * Removes and returns the most recently added member that is still in
+	 * this set.  The result is unspecified if the set is empty.
+	 *
+	 * @return The removed member.
+	 */
+	int removeLast() {
+		return dense[--size];
+	}
+
+	void copyFrom(CellSet other) {
+		if (dense.length < other.size)
+			dense = new int[other.dense.length];
+		System.arraycopy(other.dense, 0, dense, 0, other.size);
+		for (int i = 0; i < position.length; i++)
+			if (other.position[i] != null) {
+				if (position[i] == null)
+					position[i] = new int[PAGE_MASK + 1];
+				System.arraycopy(other.position[i], 0, position[i], 0, position[i].length);
+			}
+		size = other.size;
+	}
+
+	void clear() {
+		size = 0;
+	}
+}
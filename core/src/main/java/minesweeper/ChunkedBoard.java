@@ -0,0 +1,331 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A Minesweeper board for games too large to hold in memory as a whole.  The
+ * tiles are kept in square chunks that are materialized when one of their
+ * tiles is first revealed, so the memory of a board grows with the part of
+ * it that has been explored rather than with its size.  Tiles are addressed
+ * by the cell indices of {@link MinesweeperBoard}.
+ *
+ * <p>The mines are laid out from a seed in two steps.  The number of mines
+ * in each chunk is drawn when the board is constructed, as if the mines had
+ * been placed uniformly on the whole board.  The locations of the mines
+ * within a chunk are drawn from a seed derived from the board's seed and the
+ * position of the chunk, so they can be derived again at any time: a chunk
+ * that is materialized derives the mines of its neighbors to count the
+ * mines around its edge tiles, without materializing them.
+ */
+public class ChunkedBoard implements BoardOracle {
+	/* Chunks are CHUNK x CHUNK tiles, in row-major order; the tiles of a
+	 * chunk are encoded like those of MinesweeperBoard. */
+	private static final int CHUNK_BITS = 6, CHUNK = 1 << CHUNK_BITS, CHUNK_MASK = CHUNK - 1;
+
+	private final int width, height, stride, mines;
+	private final int across, down;
+	private final long seed;
+	private final int[] chunkMines;
+	private final byte[][] chunks;
+	private int materialized, revealed;
+	private boolean revealedMine;
+	/* The mines of a neighboring chunk, while they are counted. */
+	private final byte[] scratch = new byte[CHUNK * CHUNK];
+
+	/**
+	 * Initializes a new <code>ChunkedBoard</code> object with specific
+	 * dimensions and number of mines, laid out from the given seed.  Two
+	 * boards constructed with the same arguments are identical.  All tiles
+	 * are initially hidden and no chunk is materialized.
+	 *
+	 * @param width The desired width of the board.
+	 * @param height The desired height of the board.
+	 * @param mines The desired number of mines on the board.
+	 * @param seed The seed used to place the mines.
+	 * @throws IllegalArgumentException If the desired width or height of the
+	 * board is non-positive, if the cell indices of the board would not fit
+	 * in an <code>int</code>, if the desired number of mines is negative, or
+	 * if the desired number of mines is larger than desired number of tiles
+	 * on the board.
+	 */
+	public ChunkedBoard(int width, int height, int mines, long seed) {
+		if (width < 1 || height < 1 || (width + 2L) * (height + 2L) > Integer.MAX_VALUE || mines < 0 || mines > (long)width * height)
+			throw new IllegalArgumentException();
+
+		this.width = width;
+		this.height = height;
+		this.mines = mines;
+		this.seed = seed;
+		stride = width + 2;
+		across = (width + CHUNK_MASK) >>> CHUNK_BITS;
+		down = (height + CHUNK_MASK) >>> CHUNK_BITS;
+		chunkMines = new int[across * down];
+		chunks = new byte[chunkMines.length][];
+
+		/* The mines of each chunk, drawn from the hypergeometric distribution
+		 * of the tiles and mines not yet dealt to earlier chunks. */
+		SplittableRandom random = new SplittableRandom(seed);
+		double[] weights = new double[CHUNK * CHUNK + 1];
+		long cells = (long)width * height;
+		int left = mines;
+		for (int k = 0; k < chunkMines.length; k++) {
+			int n = chunkWidth(k) * chunkHeight(k);
+			chunkMines[k] = hypergeometric(random, cells, left, n, weights);
+			cells -= n;
+			left -= chunkMines[k];
+		}
+	}
+
+	/**
+	 * Returns the width of this board.
+	 *
+	 * @return The width of this board.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of this board.
+	 *
+	 * @return The height of this board.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the number of mines on this board.
+	 *
+	 * @return The number of mines on this board.
+	 */
+	public int getMines() {
+		return mines;
+	}
+
+	/**
+	 * Returns the number of tiles revealed since this board was constructed.
+	 *
+	 * @return The number of revealed tiles.
+	 */
+	public int getRevealed() {
+		return revealed;
+	}
+
+	/**
+	 * Indicates whether a mine tile has been revealed, signifying that the
+	 * game for this board is over (a loss).
+	 *
+	 * @return <code>true</code> if a mine tile has been revealed, or
+	 * <code>false</code> otherwise.
+	 */
+	public boolean hasRevealedMine() {
+		return revealedMine;
+	}
+
+	/**
+	 * Returns the number of chunks that have been materialized, each taking
+	 * <code>getChunkSize() * getChunkSize()</code> bytes.
+	 *
+	 * @return The number of materialized chunks.
+	 */
+	public int getMaterializedChunks() {
+		return materialized;
+	}
+
+	/**
+	 * Returns the width and height of the chunks of this board.
+	 *
+	 * @return The number of tiles along each side of a chunk.
+	 */
+	public int getChunkSize() {
+		return CHUNK;
+	}
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index.
+	 *
+	 * @param index The cell index of the tile to examine.
+	 * @return The visible state of the tile: {@link MinesweeperBoard#HIDDEN},
+	 * {@link MinesweeperBoard#MINE} or the number of adjacent mines.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board.
+	 */
+	public int getTile(int index) {
+		int row = index / stride - 1, column = index % stride - 1;
+		if (index < 0 || row < 0 || column < 0 || row >= height || column >= width)
+			throw new IllegalArgumentException();
+
+		return tileAt(index);
+	}
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index
+	 * without checking the index.  Tiles of chunks that have not been
+	 * materialized are hidden.
+	 *
+	 * @param index The cell index of a tile on this board.
+	 * @return The visible state of the tile.  The result is unspecified if
+	 * the cell index does not denote a tile on this board.
+	 */
+	public int tileAt(int index) {
+		int row = index / stride - 1, column = index % stride - 1;
+		if (row < 0 || column < 0 || row >= height || column >= width)
+			return MinesweeperBoard.HIDDEN;
+		byte[] chunk = chunks[chunk(row, column)];
+		return chunk == null ? MinesweeperBoard.HIDDEN : decode(chunk[tile(row, column)]);
+	}
+
+	/**
+	 * Reveals the tile with a specified cell index and returns its visible
+	 * state, materializing its chunk if necessary.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @return The visible state of the revealed tile, either
+	 * {@link MinesweeperBoard#MINE} or an integer in the range [0, 8].
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board, or if the specified tile had been revealed
+	 * previously.
+	 */
+	public int reveal(int index) {
+		if (revealedMine)
+			throw new IllegalStateException();
+		int row = index / stride - 1, column = index % stride - 1;
+		if (index < 0 || row < 0 || column < 0 || row >= height || column >= width)
+			throw new IllegalArgumentException();
+
+		int k = chunk(row, column), i = tile(row, column);
+		if (chunks[k] == null)
+			materialize(k);
+		byte[] chunk = chunks[k];
+		if (chunk[i] >= 0)
+			throw new IllegalArgumentException();
+
+		chunk[i] = (byte)-chunk[i];
+		revealed++;
+		revealedMine = chunk[i] == 10;
+		return decode(chunk[i]);
+	}
+
+	/* Indicates whether the tile at a cell index on this board is a mine,
+	 * revealed or not, materializing its chunk if necessary. */
+	boolean isMine(int index) {
+		int row = index / stride - 1, column = index % stride - 1, k = chunk(row, column);
+		if (chunks[k] == null)
+			materialize(k);
+		byte tile = chunks[k][tile(row, column)];
+		return tile == -10 || tile == 10;
+	}
+
+	private int chunk(int row, int column) {
+		return (row >>> CHUNK_BITS) * across + (column >>> CHUNK_BITS);
+	}
+
+	private static int tile(int row, int column) {
+		return (row & CHUNK_MASK) << CHUNK_BITS | column & CHUNK_MASK;
+	}
+
+	private int chunkWidth(int k) {
+		return Math.min(CHUNK, width - (k % across << CHUNK_BITS));
+	}
+
+	private int chunkHeight(int k) {
+		return Math.min(CHUNK, height - (k / across << CHUNK_BITS));
+	}
+
+	/* Lays out chunk k with every tile hidden, counting the mines of its
+	 * neighboring chunks along its edges. */
+	private void materialize(int k) {
+		byte[] chunk = new byte[CHUNK * CHUNK];
+		int cw = chunkWidth(k), ch = chunkHeight(k), cx = k % across, cy = k / across;
+		Arrays.fill(chunk, (byte)-1);
+		placeMines(k, chunk);
+		for (int r = 0; r < ch; r++)
+			for (int c = 0; c < cw; c++)
+				if (chunk[r << CHUNK_BITS | c] == -10)
+					count(chunk, cw, ch, r, c);
+		for (int y = Math.max(cy - 1, 0); y <= Math.min(cy + 1, down - 1); y++)
+			for (int x = Math.max(cx - 1, 0); x <= Math.min(cx + 1, across - 1); x++) {
+				if (y == cy && x == cx)
+					continue;
+				int n = y * across + x, nw = chunkWidth(n), nh = chunkHeight(n);
+				Arrays.fill(scratch, (byte)0);
+				placeMines(n, scratch);
+				/* Only the row or column of the neighbor that faces this chunk. */
+				int r0 = y < cy ? nh - 1 : 0, r1 = y > cy ? 0 : nh - 1;
+				int c0 = x < cx ? nw - 1 : 0, c1 = x > cx ? 0 : nw - 1;
+				for (int r = r0; r <= r1; r++)
+					for (int c = c0; c <= c1; c++)
+						if (scratch[r << CHUNK_BITS | c] == -10)
+							count(chunk, cw, ch, ((y - cy) << CHUNK_BITS) + r, ((x - cx) << CHUNK_BITS) + c);
+			}
+		chunks[k] = chunk;
+		materialized++;
+	}
+
+	/* Counts a mine at (row, column) relative to a chunk in its tiles. */
+	private static void count(byte[] chunk, int cw, int ch, int row, int column) {
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, ch - 1); r++)
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, cw - 1); c++)
+				if (chunk[r << CHUNK_BITS | c] != -10 && (r != row || c != column))
+					chunk[r << CHUNK_BITS | c]--;
+	}
+
+	/* Marks the mines of chunk k in the given tiles by Floyd's sampling. */
+	private void placeMines(int k, byte[] tiles) {
+		int cw = chunkWidth(k), n = cw * chunkHeight(k);
+		SplittableRandom random = new SplittableRandom(chunkSeed(k));
+		for (int j = n - chunkMines[k]; j < n; j++) {
+			int rand = random.nextInt(j + 1), i = (rand / cw) << CHUNK_BITS | rand % cw;
+			if (tiles[i] == -10)
+				i = (j / cw) << CHUNK_BITS | j % cw;
+			tiles[i] = -10;
+		}
+	}
+
+	/* Draws the number of mines among n of the given cells, of which mines
+	 * are mines, by inversion from a single uniform.  The weights relative
+	 * to the mode are built outward by the ratio of successive
+	 * probabilities until they fall below double precision, so the cost
+	 * grows with the standard deviation rather than with n. */
+	private static int hypergeometric(SplittableRandom random, long cells, int mines, int n, double[] weights) {
+		int lo = (int)Math.max(0, n - (cells - mines)), hi = Math.min(n, mines);
+		if (lo == hi)
+			return lo;
+		int mode = (int)Math.min(Math.max((n + 1.0) * (mines + 1.0) / (cells + 2.0), lo), hi);
+		int a = mode, b = mode;
+		double sum = weights[mode] = 1;
+		while (a > lo && weights[a] > 1e-18) {
+			/* P(a - 1) / P(a) */
+			weights[a - 1] = weights[a] * a * (cells - mines - n + a) / ((double)(mines - a + 1) * (n - a + 1));
+			sum += weights[--a];
+		}
+		while (b < hi && weights[b] > 1e-18) {
+			/* P(b + 1) / P(b) */
+			weights[b + 1] = weights[b] * (mines - b) * (n - b) / ((double)(b + 1) * (cells - mines - n + b + 1));
+			sum += weights[++b];
+		}
+		double u = random.nextDouble() * sum;
+		while (a < b && (u -= weights[a]) >= 0)
+			a++;
+		return a;
+	}
+
+	private long chunkSeed(int k) {
+		long z = seed + 0x9e3779b97f4a7c15L * (k + 1L);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static int decode(byte tile) {
+		if (tile < 0)
+			return MinesweeperBoard.HIDDEN;
+		if (tile == 10)
+			return MinesweeperBoard.MINE;
+		return tile - 1;
+	}
+}
@@ -0,0 +1,123 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * The constraints that the revealed numbers of a board place on their hidden
+ * neighbors, for the subset reduction of {@link MinesweeperSolver}.  The
+ * constraint of a numbered cell is the set of its hidden neighbors, kept as
+ * an eight-bit mask, and the number of mines among them, i.e. its count
+ * minus its flagged neighbors.
+ *
+ * <p>Two constraints <code>A</code> and <code>B</code> that share hidden
+ * cells are reduced as follows: if <code>N(A) - N(B)</code> equals the
+ * number of cells in <code>A</code> but not in <code>B</code>, then
+ * <code>A</code> and <code>B</code> share <code>N(B)</code> mines, so the
+ * cells of <code>A</code> outside <code>B</code> are mines and the cells of
+ * <code>B</code> outside <code>A</code> are safe.  With <code>A</code> a
+ * subset of <code>B</code> this is the familiar 1-1 rule, and chains of such
+ * reductions find the 1-2, 1-2-1, 1-2-2-1, 1-3-2 and 2-4-2 patterns.
+ *
+ * <p>Masks are only as current as the last {@link #update(int, byte[])} of
+ * each cell; the solver updates every numbered cell whose neighborhood
+ * changed before reducing.
+ */
+final class Constraints {
+	/* Bit b of a mask stands for the neighbor at (DY[b], DX[b]), in row-major order. */
+	private static final int[] DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+	private static final int[] DY = {-1, -1, -1, 0, 0, 1, 1, 1};
+	/* The cells of a mask, as the mask of a cell at each offset of up to two
+	 * rows and columns; offsets (dy, dx) are numbered (dy + 2) * 5 + dx + 2. */
+	private static final byte[][] INSIDE = new byte[25][256];
+	static {
+		for (int d = 0; d < INSIDE.length; d++) {
+			int ey = d / 5 - 2, ex = d % 5 - 2;
+			for (int mask = 0; mask < 256; mask++) {
+				int inside = 0;
+				for (int b = 0; b < 8; b++) {
+					int y = ey + DY[b], x = ex + DX[b];
+					if ((mask >> b & 1) != 0 && Math.abs(y) <= 1 && Math.abs(x) <= 1 && (x | y) != 0)
+						inside |= 1 << bit(y, x);
+				}
+				INSIDE[d][mask] = (byte)inside;
+			}
+		}
+	}
+
+	private final byte[] hidden, remaining;
+	private final int stride;
+	/* Cell index offset of each neighbor bit and of each pair offset. */
+	private final int[] neighbor = new int[8], pair = new int[25];
+
+	Constraints(int width, int height) {
+		hidden = new byte[(width + 2) * (height + 2)];
+		remaining = new byte[hidden.length];
+		stride = width + 2;
+		for (int b = 0; b < 8; b++)
+			neighbor[b] = DY[b] * stride + DX[b];
+		for (int d = 0; d < pair.length; d++)
+			pair[d] = (d / 5 - 2) * stride + d % 5 - 2;
+	}
+
+	/* Recomputes the constraint of cell c from the solver state. */
+	void update(int c, byte[] state) {
+		int mask = 0, n = state[c], s;
+		if (n > 0)
+			for (int b = 0; b < 8; b++)
+				if ((s = state[c + neighbor[b]]) == MinesweeperBoard.HIDDEN)
+					mask |= 1 << b;
+				else if (s == MinesweeperBoard.MINE)
+					n--;
+		hidden[c] = (byte)mask;
+		remaining[c] = (byte)(mask == 0 ? 0 : n);
+	}
+
+	/**
+	 * Reduces the constraint of cell c with every constraint within two rows
+	 * and columns that shares a hidden cell with it, adding the cells found to
+	 * be safe or mines to the given lists.  Cells may be added more than once.
+	 *
+	 * @return The number of cells added.
+	 */
+	int reduce(int c, IntList safe, IntList mines) {
+		int a = hidden[c] & 0xFF, b, d, p, n, found = 0;
+		if (a == 0)
+			return 0;
+		for (d = 0; d < pair.length; d++) {
+			if ((p = c + pair[d]) < 0 || p >= hidden.length || (b = hidden[p] & 0xFF) == 0 || p == c)
+				continue;
+			if ((a & INSIDE[d][b]) == 0)	/* p's cells, seen from c: nothing shared */
+				continue;
+			int onlyC = a & ~INSIDE[d][b], onlyP = b & ~INSIDE[pair.length - 1 - d][a];
+			n = remaining[c] - remaining[p];
+			if (n == Integer.bitCount(onlyC) && (onlyC | onlyP) != 0) {
+				found += add(c, onlyC, mines) + add(p, onlyP, safe);
+			} else if (-n == Integer.bitCount(onlyP) && (onlyC | onlyP) != 0) {
+				found += add(p, onlyP, mines) + add(c, onlyC, safe);
+			}
+		}
+		return found;
+	}
+
+	private int add(int c, int mask, IntList cells) {
+		for (int m = mask; m != 0; m &= m - 1)
+			cells.add(c + neighbor[Integer.numberOfTrailingZeros(m)]);
+		return Integer.bitCount(mask);
+	}
+
+	/* Forgets all constraints, for a new game. */
+	void clear() {
+		Arrays.fill(hidden, (byte)0);
+		Arrays.fill(remaining, (byte)0);
+	}
+
+	void copyFrom(Constraints other) {
+		System.arraycopy(other.hidden, 0, hidden, 0, hidden.length);
+		System.arraycopy(other.remaining, 0, remaining, 0, remaining.length);
+	}
+
+	private static int bit(int dy, int dx) {
+		int i = (dy + 1) * 3 + dx + 1;
+		return i < 4 ? i : i - 1;
+	}
+}
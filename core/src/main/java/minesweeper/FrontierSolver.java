@@ -0,0 +1,516 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * Exact deduction over the hidden frontier of a solver state.  The frontier
+ * is the set of hidden tiles adjacent to a revealed number.  It is split
+ * into connected components, where two hidden tiles are connected if they
+ * share a constraining number, and every component is enumerated on its
+ * own by backtracking.  A tile that is safe in every consistent assignment
+ * of its component is safe, and a tile that is a mine in every consistent
+ * assignment is a mine.
+ *
+ * <p>Within a component, each constraint is stored as a bitmask over the
+ * component's tiles, and the partial assignment as two bitmasks (assigned
+ * tiles and mines), so checking a constraint is a few <code>AND</code> and
+ * <code>bitCount</code> operations.  Tiles are numbered in breadth-first
+ * order, which keeps the tiles of each constraint within one or two words
+ * and lets a violated constraint prune the search as early as possible.
+ *
+ * <p>The enumeration of each component records how many of its solutions
+ * contain each number of mines, which is what {@link #probabilities(int,int)}
+ * needs to weight the components against each other and against the
+ * unconstrained interior, and what
+ * {@link #endgame(byte[],int,int,IntList,IntList)} needs to find the tiles
+ * that the number of mines left determines.  Results are cached by the tile
+ * at which the breadth-first search starts; a component whose tiles and
+ * constraints are unchanged since the previous analysis is not enumerated
+ * again, so only the components touched by the latest moves are recomputed.
+ *
+ * <p>The state array uses the padded layout of {@link MinesweeperBoard}:
+ * {@link MinesweeperBoard#HIDDEN} and {@link MinesweeperBoard#MINE} for
+ * hidden and flagged tiles, the adjacent count for revealed tiles, and any
+ * other negative value for the border.
+ */
+class FrontierSolver {
+	private final int[] offsets;
+	private final int[] mark;
+	private final int[] local;
+	private final Component[] cache;
+	private final double[] probability;
+	private final long maxNodes;
+	private int stamp;
+
+	private int[] vars = new int[64], cons = new int[64];
+	private int[] need = new int[64], lo = new int[64], hi = new int[64];
+	private int[] varCons = new int[64 * 8], varConsCount = new int[64];
+	private int[] choice = new int[65];
+	private long[] masks = new long[64];
+	private long[] assigned = new long[1], mine = new long[1];
+	private int varTotal, conTotal;
+	private long nodes;
+
+	private Component[] components = new Component[16];
+	private int componentCount;
+	private double interiorProbability;
+
+	/**
+	 * Initializes a new <code>FrontierSolver</code> for boards of the given
+	 * dimensions.
+	 *
+	 * @param width The width of the board.
+	 * @param height The height of the board.
+	 * @param maxNodes The maximum number of partial assignments explored per
+	 * component.  A component whose enumeration exceeds this budget yields no
+	 * deductions.
+	 */
+	FrontierSolver(int width, int height, long maxNodes) {
+		final int stride = width + 2;
+		offsets = new int[]{-1, -stride, -stride - 1, 1, stride, stride + 1, -stride + 1, stride - 1};
+		mark = new int[stride * (height + 2)];
+		local = new int[mark.length];
+		cache = new Component[mark.length];
+		probability = new double[mark.length];
+		this.maxNodes = maxNodes;
+	}
+
+	/**
+	 * Discards the cached components, which are only valid for the board they
+	 * were computed on, so that this solver can be used for another game on
+	 * a board of the same dimensions.
+	 */
+	void clear() {
+		Arrays.fill(cache, null);
+	}
+
+	/**
+	 * Finds every frontier tile whose content is determined by the revealed
+	 * numbers.
+	 *
+	 * @param state The solver state.
+	 * @param safe Receives the cell indices of tiles that cannot be mines.
+	 * @param mines Receives the cell indices of tiles that must be mines.
+	 * @return The number of tiles added to <code>safe</code> and
+	 * <code>mines</code>.
+	 */
+	int solve(byte[] state, IntList safe, IntList mines) {
+		analyze(state);
+		int found = 0;
+		for (int c = 0; c < componentCount; c++) {
+			Component comp = components[c];
+			if (!comp.solved)
+				continue;
+			for (int i = 0; i < comp.n; i++) {
+				double m = comp.mineTotal(i);
+				if (m == 0) {
+					safe.add(comp.vars[i]);
+					found++;
+				} else if (m == comp.solutions) {
+					mines.add(comp.vars[i]);
+					found++;
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Computes the probability that each hidden tile is a mine, given the
+	 * revealed numbers and the number of mines left, using the components
+	 * found by the last call to {@link #solve(byte[],IntList,IntList)}.
+	 * Every combination of component solutions is weighted by the number of
+	 * ways to place the remaining mines on the unconstrained interior tiles.
+	 * The results are available through {@link #getProbability(int)}.
+	 *
+	 * @param minesLeft The number of mines not yet flagged.
+	 * @param unknown The number of hidden tiles not yet flagged.
+	 */
+	void probabilities(int minesLeft, int unknown) {
+		int interior = unknown, degree = 0;
+		for (int c = 0; c < componentCount; c++)
+			if (components[c].solved) {
+				interior -= components[c].n;
+				degree += components[c].n;
+			}
+		degree = Math.min(degree, minesLeft);
+
+		/* weight[k] is C(interior, minesLeft - k), relative to its maximum */
+		double[] weight = new double[degree + 1];
+		double log = 0, max = Double.NEGATIVE_INFINITY;
+		Arrays.fill(weight, Double.NEGATIVE_INFINITY);
+		for (int r = Math.min(minesLeft, interior), k = minesLeft - r; r >= 0 && k <= degree; r--, k++) {
+			weight[k] = log;
+			max = Math.max(max, log);
+			log += Math.log((double)r / (interior - r + 1));
+		}
+		for (int k = 0; k <= degree; k++)
+			weight[k] = max == Double.NEGATIVE_INFINITY ? 0 : Math.exp(weight[k] - max);
+
+		/* prefix[c] is the product of the mine-count polynomials of components before c */
+		double[][] prefix = new double[componentCount + 1][];
+		prefix[0] = new double[]{1.0};
+		for (int c = 0; c < componentCount; c++)
+			prefix[c + 1] = components[c].solved ? multiply(prefix[c], components[c].count, components[c].n, degree) : prefix[c];
+		double[] suffix = {1.0};
+		double[] all = prefix[componentCount];
+		double z = 0, interiorMines = 0;
+		for (int k = 0; k < all.length; k++) {
+			z += all[k] * weight[k];
+			interiorMines += all[k] * weight[k] * (minesLeft - k);
+		}
+
+		for (int c = componentCount - 1; c >= 0; c--) {
+			Component comp = components[c];
+			if (!comp.solved)
+				continue;
+			/* h[k] is the weight of all completions of a solution of this component with k mines */
+			double[] others = multiply(prefix[c], suffix, suffix.length - 1, degree);
+			double[] h = new double[comp.n + 1];
+			double zc = 0;
+			for (int k = 0; k <= comp.n; k++) {
+				for (int j = 0; j < others.length && k + j <= degree; j++)
+					h[k] += others[j] * weight[k + j];
+				zc += comp.count[k] * h[k];
+			}
+			for (int i = 0; i < comp.n; i++) {
+				double p = 0;
+				for (int k = 0, base = i * (comp.n + 1); k <= comp.n; k++)
+					p += comp.mineCount[base + k] * h[k];
+				probability[comp.vars[i]] = zc > 0 ? p / zc : comp.mineTotal(i) / comp.solutions;
+			}
+			suffix = multiply(suffix, comp.count, comp.n, degree);
+		}
+		if (interior <= 0)
+			interiorProbability = 1.0;
+		else if (z > 0)
+			interiorProbability = interiorMines / z / interior;
+		else
+			interiorProbability = Math.min(1.0, Math.max(0.0, minesLeft * 1.0 / unknown));
+	}
+
+	/**
+	 * Finds every hidden tile whose content is determined by the revealed
+	 * numbers together with the number of mines left.  A number of mines in
+	 * one component is feasible if the other components and the interior can
+	 * hold the rest of the mines left; a tile is determined if it is safe, or
+	 * a mine, in every solution of its component with a feasible number of
+	 * mines.  The interior tiles are determined if every feasible combination
+	 * leaves none, or all, of them mines.  Nothing is determined unless every
+	 * component was enumerated within the search budget.
+	 *
+	 * @param state The solver state.
+	 * @param minesLeft The number of mines not yet flagged.
+	 * @param unknown The number of hidden tiles not yet flagged.
+	 * @param safe Receives the cell indices of tiles that cannot be mines.
+	 * @param mines Receives the cell indices of tiles that must be mines.
+	 * @return The number of tiles added to <code>safe</code> and
+	 * <code>mines</code>.
+	 */
+	int endgame(byte[] state, int minesLeft, int unknown, IntList safe, IntList mines) {
+		analyze(state);
+		int interior = unknown, degree = 0;
+		for (int c = 0; c < componentCount; c++) {
+			if (!components[c].solved)
+				return 0;
+			interior -= components[c].n;
+			degree += components[c].n;
+		}
+		degree = Math.min(degree, minesLeft);
+
+		/* prefix[c][k]: the components before c can hold k mines together */
+		boolean[][] prefix = new boolean[componentCount + 1][];
+		prefix[0] = new boolean[]{true};
+		for (int c = 0; c < componentCount; c++)
+			prefix[c + 1] = add(prefix[c], components[c].feasible(), degree);
+		boolean[] all = prefix[componentCount];
+		int fewest = interior + 1, most = -1;
+		for (int k = Math.max(minesLeft - interior, 0); k < all.length; k++)
+			if (all[k]) {
+				fewest = Math.min(fewest, minesLeft - k);
+				most = Math.max(most, minesLeft - k);
+			}
+		if (most < 0)
+			return 0;	/* inconsistent state, e.g. a wrongly flagged mine */
+
+		int found = 0;
+		boolean[] suffix = {true};
+		for (int c = componentCount - 1; c >= 0; c--) {
+			Component comp = components[c];
+			boolean[] others = add(prefix[c], suffix, degree), feasible = comp.feasible();
+			for (int k = 0; k <= comp.n; k++) {
+				boolean fits = false;
+				for (int j = Math.max(minesLeft - interior - k, 0); feasible[k] && j < others.length && k + j <= minesLeft; j++)
+					fits |= others[j];
+				feasible[k] = fits;
+			}
+			for (int i = 0; i < comp.n; i++) {
+				boolean canMine = false, canBeSafe = false;
+				for (int k = 0, base = i * (comp.n + 1); k <= comp.n; k++)
+					if (feasible[k]) {
+						canMine |= comp.mineCount[base + k] > 0;
+						canBeSafe |= comp.mineCount[base + k] < comp.count[k];
+					}
+				if (!canMine) {
+					safe.add(comp.vars[i]);
+					found++;
+				} else if (!canBeSafe) {
+					mines.add(comp.vars[i]);
+					found++;
+				}
+			}
+			suffix = add(suffix, comp.feasible(), degree);
+		}
+		if (interior > 0 && (most == 0 || fewest == interior))
+			for (int c = 0; c < state.length; c++)
+				if (state[c] == MinesweeperBoard.HIDDEN && mark[c] != stamp) {
+					(most == 0 ? safe : mines).add(c);
+					found++;
+				}
+		return found;
+	}
+
+	/**
+	 * Returns the probability that a hidden tile is a mine, as computed by the
+	 * last call to {@link #probabilities(int,int)}.
+	 *
+	 * @param cell The cell index of a hidden tile.
+	 * @return The probability that the tile is a mine.
+	 */
+	double getProbability(int cell) {
+		return mark[cell] == stamp && local[cell] >= 0 ? probability[cell] : interiorProbability;
+	}
+
+	private void analyze(byte[] state) {
+		componentCount = 0;
+		if (++stamp == 0) {
+			Arrays.fill(mark, 0);
+			stamp = 1;
+		}
+		for (int c = 0; c < state.length; c++)
+			if (state[c] == MinesweeperBoard.HIDDEN && mark[c] != stamp && isFrontier(state, c)) {
+				collect(state, c);
+				Component comp = cache[c];
+				if (comp == null || !comp.matches(vars, varTotal, cons, conTotal)) {
+					comp = new Component(vars, varTotal, cons, conTotal);
+					enumerate(state, comp);
+					cache[c] = comp;
+				}
+				if (componentCount == components.length)
+					components = Arrays.copyOf(components, componentCount * 2);
+				components[componentCount++] = comp;
+				for (int i = 0; i < comp.n; i++)
+					local[comp.vars[i]] = comp.solved ? i : -1;
+			}
+	}
+
+	private boolean isFrontier(byte[] state, int c) {
+		for (int offset : offsets)
+			if (state[c + offset] > 0)
+				return true;
+		return false;
+	}
+
+	/* Collects the component containing hidden cell start in breadth-first order. */
+	private void collect(byte[] state, int start) {
+		int nv = 0, nc = 0;
+		mark[start] = stamp;
+		vars[nv++] = start;
+		for (int head = 0; head < nv; head++)
+			for (int offset : offsets) {
+				int n = vars[head] + offset;
+				if (state[n] <= 0 || mark[n] == stamp)
+					continue;
+				mark[n] = stamp;
+				if (nc == cons.length)
+					cons = Arrays.copyOf(cons, nc * 2);
+				cons[nc++] = n;
+				for (int offset2 : offsets) {
+					int m = n + offset2;
+					if (state[m] != MinesweeperBoard.HIDDEN || mark[m] == stamp)
+						continue;
+					mark[m] = stamp;
+					if (nv == vars.length)
+						vars = Arrays.copyOf(vars, nv * 2);
+					vars[nv++] = m;
+				}
+			}
+		varTotal = nv;
+		conTotal = nc;
+	}
+
+	private void enumerate(byte[] state, Component comp) {
+		final int n = comp.n, m = comp.m, words = (n + 63) >>> 6;
+		ensureCapacity(n, m, words);
+		for (int i = 0; i < n; i++) {
+			local[comp.vars[i]] = i;
+			varConsCount[i] = 0;
+		}
+		Arrays.fill(masks, 0, m * words, 0L);
+		for (int j = 0; j < m; j++) {
+			int c = comp.cons[j], remaining = state[c], size = 0;
+			lo[j] = words;
+			hi[j] = -1;
+			for (int offset : offsets) {
+				int x = c + offset;
+				if (state[x] == MinesweeperBoard.MINE) {
+					remaining--;
+				} else if (state[x] == MinesweeperBoard.HIDDEN) {
+					int i = local[x], word = i >>> 6;
+					masks[j * words + word] |= 1L << i;
+					lo[j] = Math.min(lo[j], word);
+					hi[j] = Math.max(hi[j], word);
+					varCons[i * 8 + varConsCount[i]++] = j;
+					size++;
+				}
+			}
+			if (remaining < 0 || remaining > size)
+				return;	/* inconsistent state, e.g. a wrongly flagged mine */
+			need[j] = remaining;
+		}
+
+		Arrays.fill(assigned, 0, words, 0L);
+		Arrays.fill(mine, 0, words, 0L);
+		nodes = 0;
+		int i = 0;
+		choice[0] = -1;
+		while (i >= 0) {
+			if (i == n) {
+				record(comp, words);
+				i--;
+				continue;
+			}
+			int word = i >>> 6;
+			long bit = 1L << i;
+			int v = ++choice[i];
+			if (v > 1) {
+				assigned[word] &= ~bit;
+				mine[word] &= ~bit;
+				i--;
+				continue;
+			}
+			assigned[word] |= bit;
+			if (v == 1)
+				mine[word] |= bit;
+			if (++nodes > maxNodes)
+				return;
+			if (consistent(i, words))
+				choice[++i] = -1;
+		}
+		comp.solved = comp.solutions > 0;
+	}
+
+	private boolean consistent(int i, int words) {
+		for (int k = i * 8, end = k + varConsCount[i]; k < end; k++) {
+			int j = varCons[k], mines = 0, free = 0;
+			for (int word = lo[j], base = j * words; word <= hi[j]; word++) {
+				long mask = masks[base + word];
+				mines += Long.bitCount(mask & mine[word]);
+				free += Long.bitCount(mask & ~assigned[word]);
+			}
+			if (mines > need[j] || mines + free < need[j])
+				return false;
+		}
+		return true;
+	}
+
+	private void record(Component comp, int words) {
+		int k = 0;
+		for (int word = 0; word < words; word++)
+			k += Long.bitCount(mine[word]);
+		comp.solutions++;
+		comp.count[k]++;
+		for (int word = 0; word < words; word++)
+			for (long bits = mine[word]; bits != 0; bits &= bits - 1)
+				comp.mineCount[((word << 6) + Long.numberOfTrailingZeros(bits)) * (comp.n + 1) + k]++;
+	}
+
+	private void ensureCapacity(int n, int m, int words) {
+		if (n > varConsCount.length) {
+			int size = Math.max(n, varConsCount.length * 2);
+			varConsCount = new int[size];
+			varCons = new int[size * 8];
+			choice = new int[size + 1];
+		}
+		if (m > need.length) {
+			int size = Math.max(m, need.length * 2);
+			need = new int[size];
+			lo = new int[size];
+			hi = new int[size];
+		}
+		if (m * words > masks.length)
+			masks = new long[Math.max(m * words, masks.length * 2)];
+		if (words > assigned.length) {
+			assigned = new long[words];
+			mine = new long[words];
+		}
+	}
+
+	/* Product of two polynomials, normalized to a maximum coefficient of 1 and truncated to degree. */
+	private static double[] multiply(double[] a, double[] b, int bDegree, int degree) {
+		double[] r = new double[Math.min(a.length - 1 + bDegree, degree) + 1];
+		double max = 0;
+		for (int i = 0; i < a.length; i++)
+			if (a[i] != 0)
+				for (int j = 0; j <= bDegree && i + j < r.length; j++)
+					r[i + j] += a[i] * b[j];
+		for (double x : r)
+			max = Math.max(max, x);
+		if (max > 0)
+			for (int i = 0; i < r.length; i++)
+				r[i] /= max;
+		return r;
+	}
+
+	/* Sums of an element of a and an element of b, truncated to degree. */
+	private static boolean[] add(boolean[] a, boolean[] b, int degree) {
+		boolean[] r = new boolean[Math.min(a.length + b.length - 2, degree) + 1];
+		for (int i = 0; i < a.length; i++)
+			if (a[i])
+				for (int j = 0; j < b.length && i + j < r.length; j++)
+					r[i + j] |= b[j];
+		return r;
+	}
+
+	/**
+	 * The solutions of one component, by number of mines.
+	 */
+	private static final class Component {
+		final int[] vars, cons;
+		final int n, m;
+		final double[] count;
+		final double[] mineCount;
+		double solutions;
+		boolean solved;
+
+		Component(int[] vars, int n, int[] cons, int m) {
+			this.vars = Arrays.copyOf(vars, n);
+			this.cons = Arrays.copyOf(cons, m);
+			this.n = n;
+			this.m = m;
+			count = new double[n + 1];
+			mineCount = new double[n * (n + 1)];
+		}
+
+		boolean matches(int[] vars, int n, int[] cons, int m) {
+			return this.n == n && this.m == m
+				&& Arrays.equals(this.vars, 0, n, vars, 0, n)
+				&& Arrays.equals(this.cons, 0, m, cons, 0, m);
+		}
+
+		/* feasible()[k]: some solution has k mines */
+		boolean[] feasible() {
+			boolean[] r = new boolean[n + 1];
+			for (int k = 0; k <= n; k++)
+				r[k] = count[k] > 0;
+			return r;
+		}
+
+		double mineTotal(int i) {
+			double total = 0;
+			for (int k = 0, base = i * (n + 1); k <= n; k++)
+				total += mineCount[base + k];
+			return total;
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of primitive <code>int</code> values.
+ */
+class IntList {
+	private int[] values;
+	private int size;
+
+	IntList(int capacity) {
+		values = new int[Math.max(capacity, 4)];
+	}
+
+	int size() {
+		return size;
+	}
+
+	int get(int index) {
+		return values[index];
+	}
+
+	void add(int value) {
+		if (size == values.length)
+			values = Arrays.copyOf(values, size * 2);
+		values[size++] = value;
+	}
+
+	void copyFrom(IntList other) {
+		if (values.length < other.size)
+			values = new int[other.values.length];
+		System.arraycopy(other.values, 0, values, 0, other.size);
+		size = other.size;
+	}
+
+	void clear() {
+		size = 0;
+	}
+
+	/**
+	 * Copies as many values as fit into the given array.
+	 *
+	 * @param out The destination array.
+	 * @return The number of values copied.
+	 */
+	int copyInto(int[] out) {
+		int n = Math.min(size, out.length);
+		System.arraycopy(values, 0, out, 0, n);
+		return n;
+	}
+}
@@ -0,0 +1,66 @@
+package minesweeper;
+
+import java.util.Arrays;
+
+/**
+ * A growable first-in first-out queue of primitive <code>int</code> values
+ * backed by a ring buffer.
+ */
+class IntQueue {
+	private int[] values;
+	private int head, size;
+
+	IntQueue(int capacity) {
+		values = new int[Integer.highestOneBit(Math.max(capacity, 4) - 1) << 1];
+	}
+
+	boolean isEmpty() {
+		return size == 0;
+	}
+
+	int size() {
+		return size;
+	}
+
+	void add(int value) {
+		if (size == values.length) {
+			int[] grown = new int[values.length * 2];
+			int tail = values.length - head;
+			System.arraycopy(values, head, grown, 0, tail);
+			System.arraycopy(values, 0, grown, tail, head);
+			values = grown;
+			head = 0;
+		}
+		values[(head + size++) & (values.length - 1)] = value;
+	}
+
+	/**
+	 * Removes and returns the value at the head of this queue.  The result is
+	 * unspecified if the queue is empty.
+	 *
+	 * @return The value at the head of this queue.
+	 */
+	int remove() {
+		int value = values[head];
+		head = (head + 1) & (values.length - 1);
+		size--;
+		return value;
+	}
+
+	/* The value at the head of this queue, which must not be empty. */
+	int peek() {
+		return values[head];
+	}
+
+	void copyFrom(IntQueue other) {
+		if (values.length != other.values.length)
+			values = new int[other.values.length];
+		System.arraycopy(other.values, 0, values, 0, values.length);
+		head = other.head;
+		size = other.size;
+	}
+
+	void clear() {
+		head = size = 0;
+	}
+}
@@ -0,0 +1,774 @@
+package minesweeper;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A Minesweeper board.  Tiles may be addressed either by row and column or
+ * by cell index.  Cell indices enumerate the tiles in row-major order on a
+ * grid that is surrounded by a one-tile border, i.e. the index of the tile at
+ * <code>(row, column)</code> is
+ * <code>(row + 1) * (getWidth() + 2) + column + 1</code>.  Because of the
+ * border, the eight neighbors of any tile are found at fixed index offsets
+ * (see {@link #getStride()}) without checking the edges of the board.
+ */
+public class MinesweeperBoard implements BoardOracle {
+	/**
+	 * Constant representing a revealed mine on the board.
+	 */
+	public final static int MINE = -1;
+	/**
+	 * Constant representing a hidden tile.
+	 */
+	public final static int HIDDEN = -2;
+
+	/**
+	 * What the first reveal of a game is guaranteed to uncover.  Boards that
+	 * guarantee anything move the mines that are in the way when the first
+	 * tile is revealed, each to a random tile that is neither a mine nor
+	 * protected, so the boards remain uniformly distributed among those that
+	 * satisfy the guarantee.
+	 */
+	public enum FirstReveal {
+		/** No guarantee: the first tile may be a mine. */
+		ANY,
+		/** The first tile is not a mine. */
+		SAFE,
+		/**
+		 * The first tile is a zero, i.e. neither it nor its neighbors are
+		 * mines.  If the mines do not fit outside of the neighborhood, the
+		 * first tile is only safe.
+		 */
+		ZERO
+	}
+
+	private byte[] state;
+	private int width, height, stride;
+	private int mines, revealed;
+	private boolean revealedMine;
+	private FirstReveal firstReveal = FirstReveal.ANY;
+	/* Whether the first reveal is still to be protected, and the seed of the
+	 * moves of the mines in its way. */
+	private boolean protect;
+	private long protectSeed;
+	/* Seeds of the row spans still to fill, kept between calls of revealRegion. */
+	private int[] seeds;
+
+	/**
+	 * Initializes a new <code>MinesweeperBoard</code> object with specific
+	 * dimensions and number of mines.  The locations of the mines are chosen
+	 * randomly.  All tiles are initially hidden.
+	 *
+	 * @param width The desired width of the board.
+	 * @param height The desired height of the board.
+	 * @param mines The desired number of mines on the board.
+	 * @throws IllegalArgumentException If the desired width or height of the
+	 * board is non-positive, if the desired number of mines is negative, or if
+	 * the desired number of mines is larger than desired number of tiles on
+	 * the board.
+	 */
+	public MinesweeperBoard(int width, int height, int mines) {
+		this(width, height, mines, new SplittableRandom());
+	}
+
+	/**
+	 * Initializes a new <code>MinesweeperBoard</code> object with specific
+	 * dimensions and number of mines.  The locations of the mines are chosen
+	 * by a generator created from the given seed, so two boards constructed
+	 * with the same arguments are identical.  All tiles are initially hidden.
+	 *
+	 * @param width The desired width of the board.
+	 * @param height The desired height of the board.
+	 * @param mines The desired number of mines on the board.
+	 * @param seed The seed used to place the mines.
+	 * @throws IllegalArgumentException If the desired width or height of the
+	 * board is non-positive, if the desired number of mines is negative, or if
+	 * the desired number of mines is larger than desired number of tiles on
+	 * the board.
+	 */
+	public MinesweeperBoard(int width, int height, int mines, long seed) {
+		this(width, height, mines, new SplittableRandom(seed));
+	}
+
+	/**
+	 * Initializes a new <code>MinesweeperBoard</code> object with specific
+	 * dimensions and number of mines.  The locations of the mines are drawn
+	 * from the given generator, which is not shared with any other thread by
+	 * this board.  All tiles are initially hidden.
+	 *
+	 * @param width The desired width of the board.
+	 * @param height The desired height of the board.
+	 * @param mines The desired number of mines on the board.
+	 * @param random The generator used to place the mines.
+	 * @throws IllegalArgumentException If the desired width or height of the
+	 * board is non-positive, if the desired number of mines is negative, if
+	 * the desired number of mines is larger than desired number of tiles on
+	 * the board, or if <code>random</code> is <code>null</code>.
+	 */
+	public MinesweeperBoard(int width, int height, int mines, SplittableRandom random) {
+		this(width, height, mines, random, FirstReveal.ANY);
+	}
+
+	/**
+	 * Initializes a new <code>MinesweeperBoard</code> object with specific
+	 * dimensions and number of mines, whose first reveal uncovers what the
+	 * given guarantee promises.  The locations of the mines are drawn from
+	 * the given generator, which is not shared with any other thread by this
+	 * board.  All tiles are initially hidden.
+	 *
+	 * @param width The desired width of the board.
+	 * @param height The desired height of the board.
+	 * @param mines The desired number of mines on the board.
+	 * @param random The generator used to place the mines.
+	 * @param firstReveal The guarantee for the first reveal.
+	 * @throws IllegalArgumentException If the desired width or height of the
+	 * board is non-positive, if the desired number of mines is negative, if
+	 * the desired number of mines is larger than desired number of tiles on
+	 * the board, or if <code>random</code> or <code>firstReveal</code> is
+	 * <code>null</code>.
+	 */
+	public MinesweeperBoard(int width, int height, int mines, SplittableRandom random, FirstReveal firstReveal) {
+		if (random == null || firstReveal == null || width < 1 || height < 1 || mines < 0 || mines > width * height)
+			throw new IllegalArgumentException();
+
+		allocate(width, height);
+		this.mines = mines;
+		this.firstReveal = firstReveal;
+		regenerate(random);
+	}
+
+	/**
+	 * Initializes a new <code>MinesweeperBoard</code> object with mines at
+	 * specified locations.  The <code>mines</code> array should be a
+	 * rectangular (non-ragged) array in row-major order.  All non-zero
+	 * elements are interpreted as locations that should contain mines.
+	 * All tiles are initially hidden.
+	 *
+	 * @param mines An array of mine location information.
+	 * @throws IllegalArgumentException If the implied width or height of the
+	 * board is non-positive, or if the <code>mines</code> array is not
+	 * rectangular.
+	 */
+	public MinesweeperBoard(int[][] mines) {
+		if (mines == null || mines.length < 1 || mines[0].length < 1)
+			throw new IllegalArgumentException();
+
+		allocate(mines[0].length, mines.length);
+
+		for (int row = 0; row < height; row++) {
+			if (mines[row].length != width)
+				throw new IllegalArgumentException();
+			for (int col = 0; col < width; col++)
+				if (mines[row][col] != 0) {
+					state[getIndex(row, col)] = -10;
+					this.mines++;
+				}
+		}
+
+		calculateAdjacentCounts();
+	}
+
+	/* Copies another board, including its revealed tiles. */
+	MinesweeperBoard(MinesweeperBoard other) {
+		allocate(other.width, other.height);
+		copyFrom(other);
+	}
+
+	/* Overwrites this board with another board of the same dimensions. */
+	void copyFrom(MinesweeperBoard other) {
+		System.arraycopy(other.state, 0, state, 0, state.length);
+		mines = other.mines;
+		revealed = other.revealed;
+		revealedMine = other.revealedMine;
+		firstReveal = other.firstReveal;
+		protect = other.protect;
+		protectSeed = other.protectSeed;
+	}
+
+	/**
+	 * Returns the width of this board.
+	 *
+	 * @return The width of this board.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of this board.
+	 *
+	 * @return The height of this board.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the distance between the cell indices of vertically adjacent
+	 * tiles, which is <code>getWidth() + 2</code>.  The neighbors of the
+	 * tile at index <code>i</code> are at <code>i - 1</code>,
+	 * <code>i + 1</code>, <code>i - getStride() - 1</code> and so on.
+	 *
+	 * @return The stride of the cell indices of this board.
+	 */
+	public int getStride() {
+		return stride;
+	}
+
+	/**
+	 * Returns the cell index of a specified tile.
+	 *
+	 * @param row The row of the tile.
+	 * @param column The column of the tile.
+	 * @return The cell index of the tile.  The result is unspecified if the
+	 * coordinates do not exist on this board.
+	 */
+	public int getIndex(int row, int column) {
+		return (row + 1) * stride + column + 1;
+	}
+
+	/**
+	 * Returns the row of the tile with a specified cell index.
+	 *
+	 * @param index The cell index of the tile.
+	 * @return The row of the tile.
+	 */
+	public int getRow(int index) {
+		return index / stride - 1;
+	}
+
+	/**
+	 * Returns the column of the tile with a specified cell index.
+	 *
+	 * @param index The cell index of the tile.
+	 * @return The column of the tile.
+	 */
+	public int getColumn(int index) {
+		return index % stride - 1;
+	}
+
+	/**
+	 * Returns the number of mines on this board.
+	 *
+	 * @return The number of mines on this board.
+	 */
+	public int getMines() {
+		return mines;
+	}
+
+	/**
+	 * Indicates whether a mine tile has been revealed, signifying that the
+	 * game for this board is over (a loss).
+	 *
+	 * @return <code>true</code> if a mine tile has been revealed, or
+	 * <code>false</code> otherwise.
+	 */
+	public boolean hasRevealedMine() {
+		return revealedMine;
+	}
+
+	/**
+	 * Returns the number of tiles revealed since this board was constructed,
+	 * reset or regenerated.
+	 *
+	 * @return The number of revealed tiles.
+	 */
+	public int getRevealed() {
+		return revealed;
+	}
+
+	/**
+	 * Returns the guarantee for the first reveal of the games on this board.
+	 *
+	 * @return The guarantee for the first reveal.
+	 */
+	public FirstReveal getFirstReveal() {
+		return firstReveal;
+	}
+
+	/**
+	 * Sets the guarantee for the first reveal of the games on this board.
+	 * The guarantee applies from the next {@link #regenerate(SplittableRandom)}
+	 * on; boards constructed from an array of mines guarantee nothing until
+	 * then.
+	 *
+	 * @param firstReveal The guarantee for the first reveal.
+	 * @throws IllegalArgumentException If <code>firstReveal</code> is
+	 * <code>null</code>.
+	 */
+	public void setFirstReveal(FirstReveal firstReveal) {
+		if (firstReveal == null)
+			throw new IllegalArgumentException();
+
+		this.firstReveal = firstReveal;
+	}
+
+	/**
+	 * Returns the visible state of a specified tile.  The visible state of a
+	 * tile is {@link #HIDDEN} if the tile is hidden, {@link #MINE} if the
+	 * tile is a mine, or a number between 0 and 8 (inclusive) indicating the
+	 * number of mine tiles adjacent (8-way) to the specified tile.
+	 *
+	 * @param row The row of the tile to examine.
+	 * @param column The column of the tile to examine.
+	 * @return The visible state of the specified tile, either {@link #HIDDEN},
+	 * {@link #MINE}, or an integer in the range [0, 8].
+	 * @throws IllegalArgumentException If the coordinates of the specified
+	 * tile do not exist on this board.
+	 */
+	public int getTile(int row, int column) {
+		if (row < 0 || column < 0 || row >= height || column >= width)
+			throw new IllegalArgumentException();
+
+		return decode(state[getIndex(row, column)]);
+	}
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index.
+	 *
+	 * @param index The cell index of the tile to examine.
+	 * @return The visible state of the specified tile, either {@link #HIDDEN},
+	 * {@link #MINE}, or an integer in the range [0, 8].
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board.
+	 * @see #getTile(int,int)
+	 */
+	public int getTile(int index) {
+		if (index < 0 || index >= state.length || state[index] == 0)
+			throw new IllegalArgumentException();
+
+		return decode(state[index]);
+	}
+
+	/* Indicates whether the tile at a cell index is a mine, revealed or not. */
+	boolean isMine(int index) {
+		return state[index] == -10 || state[index] == 10;
+	}
+
+	/**
+	 * Returns the visible state of the tile with a specified cell index
+	 * without checking the index.
+	 *
+	 * @param index The cell index of a tile on this board.
+	 * @return The visible state of the tile.  The result is unspecified if
+	 * the cell index does not denote a tile on this board.
+	 * @see #getTile(int)
+	 */
+	public int tileAt(int index) {
+		return decode(state[index]);
+	}
+
+	/**
+	 * Reveals a specified tile.  The visible state of the tile is changed and
+	 * may be examined via {@link #getTile(int,int)}.  Note: once a mine tile
+	 * is revealed, no further tiles may be revealed (unless the board is reset).
+	 *
+	 * @param row The row of the tile to reveal.
+	 * @param column The column of the tile to reveal.
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the coordinates of the specified
+	 * tile do not exist on this board, or if the specified tile had been
+	 * revealed previously.
+	 */
+	public void revealTile(int row, int column) {
+		if (revealedMine)
+			throw new IllegalStateException();
+		if (row < 0 || column < 0 || row >= height || column >= width)
+			throw new IllegalArgumentException();
+
+		revealTile(getIndex(row, column));
+	}
+
+	/**
+	 * Reveals the tile with a specified cell index.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board, or if the specified tile had been revealed
+	 * previously.
+	 * @see #revealTile(int,int)
+	 */
+	public void revealTile(int index) {
+		if (revealedMine)
+			throw new IllegalStateException();
+		if (index < 0 || index >= state.length || state[index] >= 0)
+			throw new IllegalArgumentException();
+
+		if (protect)
+			protect(index);
+		state[index] = (byte)-state[index];
+		revealed++;
+		revealedMine = state[index] == 10;
+	}
+
+	/**
+	 * Reveals the tile with a specified cell index and returns its visible
+	 * state.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @return The visible state of the revealed tile, either {@link #MINE}
+	 * or an integer in the range [0, 8].
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board, or if the specified tile had been revealed
+	 * previously.
+	 * @see #revealTile(int)
+	 */
+	public int reveal(int index) {
+		revealTile(index);
+		return decode(state[index]);
+	}
+
+	/**
+	 * Reveals a specified tile and, if it is a zero, the connected region of
+	 * zeros around it together with the numbered tiles that border the
+	 * region.
+	 *
+	 * @param row The row of the tile to reveal.
+	 * @param column The column of the tile to reveal.
+	 * @param out The array that receives the cell indices of the revealed
+	 * tiles, the given tile first.  It must have room for every hidden tile
+	 * of this board.
+	 * @return The number of tiles revealed.
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the coordinates of the specified
+	 * tile do not exist on this board, or if the specified tile had been
+	 * revealed previously.
+	 * @see #revealRegion(int,int[])
+	 */
+	public int revealRegion(int row, int column, int[] out) {
+		if (revealedMine)
+			throw new IllegalStateException();
+		if (row < 0 || column < 0 || row >= height || column >= width)
+			throw new IllegalArgumentException();
+
+		return revealRegion(getIndex(row, column), out);
+	}
+
+	/**
+	 * Reveals the tile with a specified cell index and, if it is a zero, the
+	 * connected region of zeros around it together with the numbered tiles
+	 * that border the region.  The region is filled a row span at a time
+	 * directly on the tiles of this board.
+	 *
+	 * @param index The cell index of the tile to reveal.
+	 * @param out The array that receives the cell indices of the revealed
+	 * tiles, the given tile first.  It must have room for every hidden tile
+	 * of this board.
+	 * @return The number of tiles revealed.
+	 * @throws IllegalStateException If a mine has previously been revealed on
+	 * this board.
+	 * @throws IllegalArgumentException If the cell index does not denote a
+	 * tile on this board, or if the specified tile had been revealed
+	 * previously.
+	 */
+	public int revealRegion(int index, int[] out) {
+		if (revealedMine)
+			throw new IllegalStateException();
+		if (index < 0 || index >= state.length || state[index] >= 0)
+			throw new IllegalArgumentException();
+
+		if (protect)
+			protect(index);
+		out[0] = index;
+		if (state[index] != -1) {
+			reveal(index);
+			return 1;
+		}
+		if (seeds == null)
+			seeds = new int[64];
+		int n = 1, top = 0;
+		seeds[top++] = index;
+		while (top > 0) {
+			int s = seeds[--top], l = s, r = s;
+			if (state[s] != -1)	/* filled from another seed */
+				continue;
+			while (state[l - 1] == -1)
+				l--;
+			while (state[r + 1] == -1)
+				r++;
+			for (int i = l; i <= r; i++) {
+				state[i] = 1;
+				if (i != index)
+					out[n++] = i;
+			}
+			/* The ends of the span and the rows above and below it: hidden
+			 * tiles are numbered, or zeros that seed a further span. */
+			if (state[l - 1] < 0) {
+				state[l - 1] = (byte)-state[l - 1];
+				out[n++] = l - 1;
+			}
+			if (state[r + 1] < 0) {
+				state[r + 1] = (byte)-state[r + 1];
+				out[n++] = r + 1;
+			}
+			for (int d = -stride; d <= stride; d += 2 * stride)
+				for (int i = l - 1 + d, end = r + 1 + d; i <= end; i++)
+					if (state[i] == -1) {
+						if (top == seeds.length)
+							seeds = Arrays.copyOf(seeds, 2 * top);
+						seeds[top++] = i;
+						while (i < end && state[i + 1] == -1)
+							i++;
+					} else if (state[i] < 0) {
+						state[i] = (byte)-state[i];
+						out[n++] = i;
+					}
+		}
+		revealed += n;
+		return n;
+	}
+
+	/**
+	 * Resets this board to its initial configuration where all tiles are
+	 * hidden.
+	 */
+	public void reset() {
+		for (int i = 0; i < state.length; i++)
+			if (state[i] > 0)
+				state[i] = (byte)-state[i];
+		revealed = 0;
+		revealedMine = false;
+	}
+
+	/**
+	 * Places the mines of this board anew, drawing their locations from a
+	 * generator created from the given seed, and hides all tiles.
+	 *
+	 * @param seed The seed used to place the mines.
+	 * @see #regenerate(SplittableRandom)
+	 */
+	public void regenerate(long seed) {
+		regenerate(new SplittableRandom(seed));
+	}
+
+	/**
+	 * Places the mines of this board anew, drawing their locations from the
+	 * given generator, and hides all tiles.  The dimensions and the number of
+	 * mines are unchanged and no memory is allocated, so a single board can
+	 * be reused for any number of games.  Regenerating a board with a
+	 * generator yields the same board as constructing one with an identically
+	 * seeded generator.  Boards that guarantee something for the first
+	 * reveal (see {@link #setFirstReveal(FirstReveal)}) draw one more number
+	 * from the generator, which seeds the moves of the mines in its way.
+	 *
+	 * @param random The generator used to place the mines.
+	 * @throws IllegalArgumentException If <code>random</code> is
+	 * <code>null</code>.
+	 */
+	public void regenerate(SplittableRandom random) {
+		if (random == null)
+			throw new IllegalArgumentException();
+
+		for (int row = 0; row < height; row++)
+			Arrays.fill(state, getIndex(row, 0), getIndex(row, width), (byte)-1);
+		/* Floyd's sampling: one draw per mine and no array of candidates,
+		 * with the board itself recording which tiles are taken. */
+		for (int j = width * height - mines; j < width * height; j++) {
+			int rand = random.nextInt(j + 1), i = getIndex(rand / width, rand % width);
+			if (state[i] == -10)
+				i = getIndex(j / width, j % width);
+			addMine(i);
+		}
+		revealed = 0;
+		revealedMine = false;
+		if (protect = firstReveal != FirstReveal.ANY)
+			protectSeed = random.nextLong();
+	}
+
+	/**
+	 * Places the mines of this board as given by a bitmap, and hides all
+	 * tiles.  Tile <code>k</code> in row-major order, i.e. the tile at
+	 * <code>(k / getWidth(), k % getWidth())</code>, is a mine if bit
+	 * <code>k % 64</code> of element <code>offset + k / 64</code> is set; the
+	 * bitmap takes <code>(getWidth() * getHeight() + 63) / 64</code>
+	 * elements, and bits past the last tile are ignored.  The number of mines
+	 * becomes the number of tiles set.  Like
+	 * {@link #regenerate(SplittableRandom)} this allocates nothing, and the
+	 * bitmap is read in place with absolute gets, so it may be a view of a
+	 * memory-mapped file (see {@link BoardCorpus}).  Boards that guarantee
+	 * something for the first reveal seed the moves of the mines in its way
+	 * from the bitmap, so loading the same bitmap yields the same game.
+	 *
+	 * @param bits The bitmap of the mines.
+	 * @param offset The index of the first element of the bitmap.
+	 * @throws IllegalArgumentException If <code>bits</code> is
+	 * <code>null</code> or does not hold the bitmap at <code>offset</code>.
+	 */
+	public void loadMines(LongBuffer bits, int offset) {
+		int n = width * height, words = (n + 63) >>> 6;
+		if (bits == null || offset < 0 || offset > bits.limit() - words)
+			throw new IllegalArgumentException();
+
+		for (int row = 0; row < height; row++)
+			Arrays.fill(state, getIndex(row, 0), getIndex(row, width), (byte)-1);
+		mines = 0;
+		long hash = 0;
+		for (int i = 0; i < words; i++) {
+			long word = bits.get(offset + i);
+			hash = (hash ^ word) * 0x9e3779b97f4a7c15L;
+			for (; word != 0; word &= word - 1) {
+				int k = (i << 6) + Long.numberOfTrailingZeros(word);
+				if (k >= n)
+					break;
+				addMine(getIndex(k / width, k % width));
+				mines++;
+			}
+		}
+		revealed = 0;
+		revealedMine = false;
+		if (protect = firstReveal != FirstReveal.ANY)
+			protectSeed = hash;
+	}
+
+	/**
+	 * Writes the locations of the mines of this board as a bitmap in the
+	 * layout read by {@link #loadMines(LongBuffer,int)}, with absolute puts.
+	 *
+	 * @param bits The buffer to receive the bitmap.
+	 * @param offset The index of the first element of the bitmap.
+	 * @throws IllegalArgumentException If <code>bits</code> is
+	 * <code>null</code> or cannot hold the bitmap at <code>offset</code>.
+	 */
+	public void storeMines(LongBuffer bits, int offset) {
+		int n = width * height, words = (n + 63) >>> 6;
+		if (bits == null || offset < 0 || offset > bits.limit() - words)
+			throw new IllegalArgumentException();
+
+		long word = 0;
+		for (int row = 0, k = 0; row < height; row++)
+			for (int i = getIndex(row, 0), end = i + width; i < end; i++, k++) {
+				if (isMine(i))
+					word |= 1L << k;
+				if ((k & 63) == 63 || k == n - 1) {
+					bits.put(offset + (k >>> 6), word);
+					word = 0;
+				}
+			}
+	}
+
+	/**
+	 * Returns a string representation of this board based on the current set
+	 * of revealed tiles.
+	 *
+	 * @return A string representation of this board.
+	 */
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (int row = 0; row < height; row++) {
+			for (int i = getIndex(row, 0), end = i + width; i < end; i++)
+				if (state[i] < 0)
+					sb.append('?');
+				else if (state[i] == 10)
+					sb.append('*');
+				else
+					sb.append(state[i] - 1);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private void allocate(int width, int height) {
+		this.width = width;
+		this.height = height;
+		stride = width + 2;
+		state = new byte[stride * (height + 2)];
+	}
+
+	private static int decode(byte tile) {
+		if (tile < 0)
+			return HIDDEN;
+		if (tile == 10)
+			return MINE;
+		return tile - 1;
+	}
+
+	/* Recomputes the counts of all hidden tiles from the mines, visiting
+	 * only the neighbors of the mines. */
+	void calculateAdjacentCounts() {
+		clearCounts();
+		for (int row = 0; row < height; row++)
+			for (int i = getIndex(row, 0), end = i + width; i < end; i++)
+				if (state[i] == -10)
+					addMine(i);
+	}
+
+	/* Sets every tile that is not a mine to a hidden zero. */
+	private void clearCounts() {
+		for (int row = 0; row < height; row++)
+			for (int i = getIndex(row, 0), end = i + width; i < end; i++)
+				if (state[i] != -10)
+					state[i] = -1;
+	}
+
+	/* Moves the mines out of the way of the first reveal at cell index i,
+	 * each to a random tile outside of the protected ones. */
+	private void protect(int i) {
+		protect = false;
+		int row = getRow(i), column = getColumn(i), r0 = row, r1 = row, c0 = column, c1 = column;
+		if (firstReveal == FirstReveal.ZERO) {
+			r0 = Math.max(row - 1, 0);
+			r1 = Math.min(row + 1, height - 1);
+			c0 = Math.max(column - 1, 0);
+			c1 = Math.min(column + 1, width - 1);
+			if (width * height - (r1 - r0 + 1) * (c1 - c0 + 1) < mines) {
+				r0 = r1 = row;
+				c0 = c1 = column;
+			}
+		}
+		if (width * height - (r1 - r0 + 1) * (c1 - c0 + 1) < mines)
+			return;
+		int moved = 0;
+		for (int r = r0; r <= r1; r++)
+			for (int c = c0; c <= c1; c++)
+				if (state[getIndex(r, c)] == -10) {
+					removeMine(getIndex(r, c));
+					moved++;
+				}
+		if (moved == 0)
+			return;
+		SplittableRandom random = new SplittableRandom(protectSeed);
+		while (moved > 0) {
+			int rand = random.nextInt(width * height), r = rand / width, c = rand % width, j = getIndex(r, c);
+			if (state[j] != -10 && (r < r0 || r > r1 || c < c0 || c > c1)) {
+				addMine(j);
+				moved--;
+			}
+		}
+	}
+
+	/* Removes a hidden mine, counting the mines around it and uncounting it
+	 * in its hidden neighbors. */
+	private void removeMine(int i) {
+		int count = 0;
+		for (int j = i - stride - 1; j <= i + stride - 1; j += stride)
+			for (int k = j; k <= j + 2; k++) {
+				if (k == i)
+					continue;
+				if (state[k] == -10)
+					count++;
+				else if (state[k] < 0)
+					state[k]++;
+			}
+		state[i] = (byte)-(count + 1);
+	}
+
+	/* Places a hidden mine and counts it in its hidden neighbors. */
+	private void addMine(int i) {
+		state[i] = -10;
+		for (int j = i - stride - 1; j <= i + stride - 1; j += stride) {
+			if (state[j] < 0 && state[j] != -10)
+				state[j]--;
+			if (state[j + 1] < 0 && state[j + 1] != -10)
+				state[j + 1]--;
+			if (state[j + 2] < 0 && state[j + 2] != -10)
+				state[j + 2]--;
+		}
+	}
+}
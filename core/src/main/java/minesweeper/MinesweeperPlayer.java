@@ -0,0 +1,116 @@
+package minesweeper;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.SplittableRandom;
+
+/**
+ * A Minesweeper solver.  The solver plays a {@link MinesweeperBoard} by
+ * revealing tiles that can be deduced to be safe and flagging tiles that can
+ * be deduced to be mines, and guesses the least dangerous tile when no
+ * deduction is possible.  All methods are stateless and may be called
+ * concurrently on different boards.  The <code>solve</code> methods play
+ * each game with a new {@link MinesweeperSolver}; callers that play many
+ * games should create one per thread and reuse it, e.g. through
+ * {@link #solveInto solveInto}.
+ */
+public class MinesweeperPlayer {
+	/**
+	 * Attempts to identify the locations of all mine tiles on a
+	 * Minesweeper board.  If the method can deduce the locations of all the
+	 * hidden mines without revealing any mine tiles, it should return a
+	 * collection of all the hidden mine locations.  If the method reveals a
+	 * mine tile during the course of its operation, it should return a
+	 * collection of all the hidden mine locations deduced up to that point.
+	 *
+	 * @param board A Minesweeper board.
+	 * @return A collection of locations on the specified board that contain
+	 * mine tiles. Note: {@link MinesweeperBoard} uses a row/column
+	 * coordinate system while {@link Point} uses an x/y coordinate system.
+	 */
+
+	public static Collection<Point> solve(MinesweeperBoard board) {
+		return solve(board, new SplittableRandom());
+	}
+
+	/**
+	 * Attempts to identify the locations of all mine tiles on a
+	 * Minesweeper board, breaking ties between equally good guesses with the
+	 * given generator.  Solving the same board with generators created from
+	 * the same seed makes the same sequence of moves.
+	 *
+	 * @param board A Minesweeper board.
+	 * @param random The generator used to choose between equally scored
+	 * guesses.  It should not be shared with other threads.
+	 * @return A collection of locations on the specified board that contain
+	 * mine tiles.
+	 * @see #solve(MinesweeperBoard)
+	 */
+	public static Collection<Point> solve(MinesweeperBoard board, SplittableRandom random) {
+		return solve(board, random, false);
+	}
+
+	/**
+	 * Attempts to identify the locations of all mine tiles on a
+	 * Minesweeper board, optionally in exact mode.  In exact mode the
+	 * constraint reduction stage is replaced by an exhaustive analysis of
+	 * the hidden frontier, split into independent components, which finds
+	 * every safe tile and every mine that the revealed numbers determine
+	 * before the solver resorts to a guess.  Guesses then reveal the tile
+	 * with the lowest exact probability of being a mine, taking the number
+	 * of mines left into account.
+	 *
+	 * @param board A Minesweeper board.
+	 * @param random The generator used to choose between equally scored
+	 * guesses.  It should not be shared with other threads.
+	 * @param exact Whether to deduce exactly instead of by reducing pairs of
+	 * constraints.
+	 * @return A collection of locations on the specified board that contain
+	 * mine tiles.
+	 * @see #solve(MinesweeperBoard)
+	 */
+	public static Collection<Point> solve(MinesweeperBoard board, SplittableRandom random,
+		boolean exact) {
+		MinesweeperSolver solver = new MinesweeperSolver(new SolverConfig(exact));
+		int c, n = solver.solve(board, random);
+		ArrayList<Point> points = new ArrayList<Point>(n);    //x: column number, y: row number
+		for (int i = 0; i < n; ++i){
+			c = solver.getMine(i);
+			points.add(new Point(board.getColumn(c), board.getRow(c)));
+		}
+		return points;
+	}
+
+	/**
+	 * Attempts to identify the locations of all mine tiles on a
+	 * Minesweeper board with the given solver, storing the cell indices (see
+	 * {@link MinesweeperBoard#getIndex(int,int)}) of the mines found in the
+	 * given array instead of building a collection of points.  The game is
+	 * played as configured for the solver.  A heuristic solver without the
+	 * endgame stage (see {@link SolverConfig#setEndgameLimit(int)}) that is
+	 * reused for boards of one size makes the call allocate nothing.
+	 *
+	 * @param solver The solver that plays the game.
+	 * @param board A Minesweeper board.
+	 * @param random The generator used to choose between equally scored
+	 * guesses.  It should not be shared with other threads.
+	 * @param out The array that receives the cell indices of the mines found.
+	 * If it is shorter than the number of mines found, only the first
+	 * <code>out.length</code> indices are stored.
+	 * @return The number of mines found, as {@link #solve(MinesweeperBoard)}
+	 * would report it.
+	 * @throws IllegalArgumentException If any argument is <code>null</code>.
+	 */
+	public static int solveInto(MinesweeperSolver solver, MinesweeperBoard board,
+		SplittableRandom random, int[] out) {
+		if (solver == null || out == null)
+			throw new IllegalArgumentException();
+
+		int n = solver.solve(board, random);
+		for (int i = 0; i < n && i < out.length; ++i){
+			out[i] = solver.getMine(i);
+		}
+		return n;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,986 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A Minesweeper solver that keeps its working memory between games.  The
+ * solver plays a {@link BoardOracle}, usually a {@link MinesweeperBoard}, by
+ * revealing tiles that can be deduced to be safe and flagging tiles that can
+ * be deduced to be mines, running the deduction stages selected by its
+ * {@link SolverConfig}, and guesses the least dangerous tile when no
+ * deduction is possible.
+ *
+ * <p>The solver state, the work lists and the deduction structures are
+ * fields of the solver.  They are allocated by the first game, cleared at
+ * the start of every following game and reallocated only when the
+ * dimensions of the board change, so a solver that plays boards of one size
+ * (see {@link MinesweeperBoard#regenerate(SplittableRandom)}) allocates
+ * nothing per game in the heuristic configurations, apart from the
+ * components of the endgame analysis (see
+ * {@link SolverConfig#setEndgameLimit(int)}).
+ *
+ * <p>Apart from two bytes per cell, its state and whether it was swept
+ * (four with constraint reduction, which keeps two more counts per cell),
+ * the memory of the heuristic configurations grows with the explored part
+ * of the board rather than with its size: the work sets and the guess
+ * scores only hold cells next to revealed tiles, and the hidden tiles that
+ * are not are counted per page of cells instead of listed; only
+ * the endgame, once reached, allocates a frontier analysis for the whole
+ * board.  On boards of more than 2<sup>22</sup> tiles, where a buffer for
+ * {@link BoardOracle#revealRegion(int, int[])} would take four bytes per
+ * cell, tiles are revealed one at a time.  Together with a
+ * {@link ChunkedBoard} this lets a heuristic solver play boards of a
+ * hundred million tiles.
+ *
+ * <p>A solver is confined to one thread at a time; threads that play
+ * concurrently need a solver each.
+ */
+public final class MinesweeperSolver {
+	/* Solver state outside the board; neither HIDDEN nor MINE nor a count. */
+	static final byte BORDER = -3;
+	/* Neighbor directions, in the order in which neighbors are visited. */
+	private static final int[] DX = {-1, 0, -1, 1, 0, 1, 1, -1};
+	private static final int[] DY = {0, -1, -1, 0, 1, 1, -1, 1};
+	/* Encoding of the queued moves of step mode: cell * MOVE_CELL + reason * 2 + flag. */
+	private static final int MOVE_CELL = 8, MOVE_FLAG = 1;
+	private static final Move.Reason[] REASONS = Move.Reason.values();
+	/* The largest board revealed by regions, and the size of the pages in
+	 * which hidden tiles without numbered neighbors are counted. */
+	private static final int REGION_LIMIT = 1 << 22, PAGE_BITS = CellSet.PAGE_BITS;
+
+	private final boolean reduction, exact;
+	private final long nodeLimit;
+	private final int endgameLimit;
+	private final SolverMetrics metrics;
+	private final SolverConfig.Opening opening;
+
+	private int w = -1, h = -1;
+	private final int[] offsets = new int[8];
+	private final int[] neighbors = new int[8], around = new int[8];
+	BoardOracle board;
+	private SplittableRandom random, ownRandom;
+	/* Whether a mine has been revealed in the current game. */
+	private boolean lost;
+	byte[] state;
+	boolean[] sweeped;
+	/* Step mode: zeros whose hidden neighbors are still to be proposed. */
+	private IntQueue secure;
+	/* The tiles revealed by the last call of board.revealRegion. */
+	private int[] region;
+	/* The number of hidden tiles, i.e. neither revealed nor flagged. */
+	int unknown;
+	CellSet dirty;
+	final IntList mines = new IntList(16);
+	private IntList safe, forced;
+	Bitboard bits;
+	/* Stage structures, allocated only for the configured stages. */
+	private FrontierSolver frontier;
+	/* The frontier solver of the endgame and of exact guesses: frontier in
+	 * exact configurations, or allocated by the first endgame otherwise. */
+	private FrontierSolver analysis;
+	private Constraints constraints;
+	private ScoreIndex scores;
+	private CellSet swept, stale;
+	/* Hidden tiles without a numbered neighbor, which are never scored: in
+	 * total and per page of cells.  A hidden tile is scored, i.e. in scores,
+	 * exactly when it has a numbered neighbor. */
+	private int interior;
+	private int[] interiorPages;
+	/* Step mode: moves are queued instead of played on a board. */
+	private boolean stepping;
+	private BoardView view;
+	private final IntQueue moves = new IntQueue(16);
+	private CellSet pending;
+	private Move.Reason reason = Move.Reason.SWEEP;
+	/* Revealed tiles of the view taken into the state, and the last guess
+	 * with the value of absorbed when it was proposed and its risk. */
+	private int absorbed, lastGuess, guessAbsorbed;
+	private double guessRisk;
+	/* The number of guesses in the current game. */
+	private int guesses;
+
+	/**
+	 * Initializes a new <code>MinesweeperSolver</code> with the default
+	 * configuration (see {@link SolverConfig#SolverConfig()}).
+	 */
+	public MinesweeperSolver() {
+		this(new SolverConfig());
+	}
+
+	/**
+	 * Initializes a new <code>MinesweeperSolver</code> that runs the stages
+	 * of the given configuration.
+	 *
+	 * @param config The deduction stages to run.
+	 * @throws IllegalArgumentException If <code>config</code> is
+	 * <code>null</code>.
+	 */
+	public MinesweeperSolver(SolverConfig config) {
+		if (config == null)
+			throw new IllegalArgumentException();
+
+		reduction = config.isReduction();
+		exact = config.isExact();
+		nodeLimit = config.getNodeLimit();
+		endgameLimit = config.getEndgameLimit();
+		metrics = config.isMetrics() ? new SolverMetrics() : null;
+		opening = config.getOpening();
+	}
+
+	/**
+	 * Attempts to identify the locations of all mine tiles on a Minesweeper
+	 * board, breaking ties between equally good guesses with the given
+	 * generator.  The game ends when every mine has been found or a mine has
+	 * been revealed; the mines found are available from
+	 * {@link #getMine(int)} until the next game.
+	 *
+	 * @param board The board to play, with all tiles hidden.  It need not be
+	 * a {@link MinesweeperBoard}.
+	 * @param random The generator used to choose between equally scored
+	 * guesses.
+	 * @return The number of mines found.
+	 * @throws IllegalArgumentException If <code>board</code> or
+	 * <code>random</code> is <code>null</code>.
+	 */
+	public int solve(BoardOracle board, SplittableRandom random) {
+		if (board == null || random == null)
+			throw new IllegalArgumentException();
+
+		begin(board);
+		this.random = random;
+		run();
+		this.random = null;
+		return mines.size();
+	}
+
+	/**
+	 * Returns the number of mines found in the last game.
+	 *
+	 * @return The number of mines found.
+	 */
+	public int getMinesFound() {
+		return mines.size();
+	}
+
+	/**
+	 * Returns the cell index (see {@link MinesweeperBoard#getIndex(int,int)})
+	 * of a mine found in the last game.
+	 *
+	 * @param i The position of the mine in the order in which the mines were
+	 * found, in the range <code>[0, getMinesFound())</code>.
+	 * @return The cell index of the mine.
+	 * @throws IllegalArgumentException If <code>i</code> is out of range.
+	 */
+	public int getMine(int i) {
+		if (i < 0 || i >= mines.size())
+			throw new IllegalArgumentException();
+
+		return mines.get(i);
+	}
+
+	/**
+	 * Returns the number of guesses made in the last game, the first reveal
+	 * included, or in step mode the number of proposed guesses played so
+	 * far.
+	 *
+	 * @return The number of guesses.
+	 */
+	public int getGuesses() {
+		return guesses;
+	}
+
+	/**
+	 * Returns the metrics of the stages of this solver, summed over all games
+	 * it has played, if its configuration enables them (see
+	 * {@link SolverConfig#setMetrics(boolean)}).
+	 *
+	 * @return The metrics of this solver, or <code>null</code> if it keeps
+	 * none.
+	 */
+	public SolverMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Proposes the next move in a game that is played elsewhere, with
+	 * generators created by this solver breaking ties between guesses.
+	 *
+	 * @param view The board on which the game is played.
+	 * @return The next move, or <code>null</code> if the game is over.
+	 * @throws IllegalArgumentException If <code>view</code> is
+	 * <code>null</code>.
+	 * @see #nextMove(BoardView,SplittableRandom)
+	 */
+	public Move nextMove(BoardView view) {
+		if (ownRandom == null)
+			ownRandom = new SplittableRandom();
+		return nextMove(view, ownRandom);
+	}
+
+	/**
+	 * Proposes the next move in a game that is played elsewhere.  The solver
+	 * keeps its deductions between calls and only takes the tiles revealed
+	 * since the previous call into account, looking first at the tiles of
+	 * the moves it proposed; the other tiles are only examined if the view
+	 * reports more revealed tiles than those account for.  A game starts when
+	 * a view is passed that differs from the previous one, or whose number of
+	 * revealed tiles has decreased, and may start on a board that is already
+	 * partly revealed.
+	 *
+	 * <p>Deduced moves are proposed first, flags before the reveals found at
+	 * the same time.  A reveal is proposed again until it is played; a flag
+	 * is proposed once and then treated as a mine, as the board has no
+	 * flags.  When nothing can be deduced the solver proposes a guess, which
+	 * is likewise proposed again until it is played or other tiles are
+	 * revealed, and is counted (see {@link #getGuesses()}) once it is
+	 * played.  The solver proposes nothing (<code>null</code>) once a mine
+	 * has been revealed or every mine has been flagged.
+	 *
+	 * @param view The board on which the game is played.
+	 * @param random The generator used to choose between equally scored
+	 * guesses.
+	 * @return The next move, or <code>null</code> if the game is over.
+	 * @throws IllegalArgumentException If <code>view</code> or
+	 * <code>random</code> is <code>null</code>.
+	 */
+	public Move nextMove(BoardView view, SplittableRandom random) {
+		if (view == null || random == null)
+			throw new IllegalArgumentException();
+
+		if (!stepping || view != this.view || view.getWidth() != w || view.getHeight() != h || view.getRevealed() < absorbed)
+			begin(view);
+		sync();
+		if (view.hasRevealedMine())
+			return null;
+		this.random = random;
+		Move move = step();
+		this.random = null;
+		return move;
+	}
+
+	/* Sets up a new game on the given board, with all tiles hidden. */
+	void begin(BoardOracle board){
+		this.board = board;
+		view = null;
+		stepping = false;
+		start(board.getWidth(), board.getHeight());
+	}
+
+	/* Sets up a new game in step mode; the view may already have revealed tiles. */
+	private void begin(BoardView view){
+		board = null;
+		this.view = view;
+		stepping = true;
+		start(view.getWidth(), view.getHeight());
+	}
+
+	private void start(final int width, final int height){
+		int i, c, end;
+		if (width != w || height != h){
+			allocate(width, height);
+		}
+		lost = false;
+		if (metrics != null){
+			metrics.game();
+		}
+		absorbed = 0;
+		lastGuess = -1;
+		guesses = 0;
+		moves.clear();
+		pending.clear();
+		reason = Move.Reason.SWEEP;
+		Arrays.fill(state, BORDER);
+		Arrays.fill(sweeped, false);
+		secure.clear();
+		dirty.clear();
+		mines.clear();
+		safe.clear();
+		forced.clear();
+		if (bits != null){
+			bits.clear();
+		}
+		if (analysis != null){
+			analysis.clear();
+		}
+		if (constraints != null){
+			constraints.clear();
+		}
+		if (swept != null){
+			swept.clear();
+		}
+		if (scores != null){
+			scores.clear();
+			stale.clear();
+			Arrays.fill(interiorPages, 0);
+		}
+		for (i = 0; i < h; ++i){
+			Arrays.fill(state, c = at(w, i, 0), end = c + w, (byte)MinesweeperBoard.HIDDEN);
+			if (scores != null){
+				for (; c < end; ++c){
+					++interiorPages[c >>> PAGE_BITS];
+				}
+			}
+		}
+		unknown = interior = w * h;
+	}
+
+	private void allocate(final int w, final int h){
+		int k;
+		this.w = w;
+		this.h = h;
+		for (k = 0; k < 8; ++k){
+			offsets[k] = DY[k] * (w + 2) + DX[k];
+		}
+		state = new byte[(w + 2) * (h + 2)];
+		sweeped = new boolean[state.length];
+		secure = new IntQueue(w + h);
+		region = w * h <= REGION_LIMIT ? new int[w * h] : null;
+		dirty = new CellSet(state.length);
+		pending = new CellSet(state.length);
+		safe = new IntList(w + h);
+		forced = new IntList(w + h);
+		bits = Bitboard.fits(w, h) ? new Bitboard(w, h) : null;	/* narrow boards count neighbors with row masks */
+		frontier = exact ? new FrontierSolver(w, h, nodeLimit) : null;
+		analysis = frontier;
+		constraints = reduction ? new Constraints(w, h) : null;
+		swept = reduction || !exact ? new CellSet(state.length) : null;
+		scores = exact ? null : new ScoreIndex(state.length);
+		stale = exact ? null : new CellSet(state.length);
+		interiorPages = exact ? null : new int[(state.length >>> PAGE_BITS) + 1];
+	}
+
+	private void run(){
+		int m, i, c, N = board.getMines();
+		long t = clock();
+		while (N > 0 && !board.hasRevealedMine()){
+			reason = Move.Reason.SWEEP;
+			while (!secure.isEmpty()){	/* boards revealed a tile at a time */
+				m = getUnknownNeighbors(secure.remove(), neighbors);
+				for (i = 0; i < m; ++i){
+					reveal(neighbors[i]);
+				}
+			}
+			N -= sweep_board();
+			t = lap(Move.Reason.SWEEP, t);
+			if (N <= 0){
+				return;
+			}
+			if (!secure.isEmpty()){
+				continue;
+			}
+			if (reduction){
+				reason = Move.Reason.REDUCTION;
+				N -= reduceConstraints();
+				t = lap(Move.Reason.REDUCTION, t);
+				if (dirty.size() > 0 || !secure.isEmpty()){	/* the reduction revealed or flagged cells: sweep again before guessing */
+					continue;
+				}
+			}
+			if (frontier != null){
+				reason = Move.Reason.FRONTIER;
+				m = frontier.solve(state, safe, forced);
+				N -= applyFrontier();
+				t = lap(Move.Reason.FRONTIER, t);
+				if (m > 0){
+					continue;
+				}
+			}
+			if (unknown <= endgameLimit){
+				reason = Move.Reason.ENDGAME;
+				m = analysis().endgame(state, N, unknown, safe, forced);
+				N -= applyFrontier();
+				t = lap(Move.Reason.ENDGAME, t);
+				if (m > 0){
+					continue;
+				}
+			}
+			reason = Move.Reason.GUESS;
+			c = pick(N);
+			++guesses;
+			if (metrics != null){
+				metrics.guess(risk(c, N));
+			}
+			reveal(c);
+			t = lap(Move.Reason.GUESS, t);
+		}
+	}
+
+	/* Takes the tiles revealed on the view since the last call into the
+	 * state: first the tiles of the proposed moves, then, if the view
+	 * reports more revealed tiles, the other hidden tiles. */
+	private void sync(){
+		int i, n = view.getRevealed();
+		if (absorbed == n){
+			return;
+		}
+		if (lastGuess >= 0 && state[lastGuess] == MinesweeperBoard.HIDDEN){
+			check(lastGuess);
+			if (state[lastGuess] != MinesweeperBoard.HIDDEN){	/* the guess was played */
+				++guesses;
+				if (metrics != null){
+					metrics.reveal(Move.Reason.GUESS, 1);
+					metrics.guess(guessRisk);
+				}
+			}
+		}
+		for (i = pending.size() - 1; i >= 0 && absorbed < n; --i){	/* check() moves the last member into i */
+			check(pending.get(i));
+		}
+		for (i = at(w, 0, 0); i < state.length && absorbed < n; ++i){
+			if (state[i] == MinesweeperBoard.HIDDEN){
+				check(i);
+			}
+		}
+	}
+
+	private void check(final int c){
+		int tile = view.tileAt(c);
+		if (tile != MinesweeperBoard.HIDDEN){
+			pending.remove(c);
+			absorb(c, tile);
+			++absorbed;
+		}
+	}
+
+	/* Finds the next move of step mode, running the stages until one of
+	 * them queues a move or a guess is needed. */
+	private Move step(){
+		int e, c, m, i, N;
+		long t;
+		if (lastGuess >= 0 && state[lastGuess] == MinesweeperBoard.HIDDEN && absorbed == guessAbsorbed){	/* proposed until played, like deduced reveals */
+			return move(lastGuess, Move.Action.REVEAL, Move.Reason.GUESS, guessRisk);
+		}
+		t = clock();
+		while (true){
+			while (!moves.isEmpty()){
+				c = (e = moves.peek()) / MOVE_CELL;
+				if ((e & MOVE_FLAG) != 0){
+					moves.remove();
+					return move(c, Move.Action.FLAG, REASONS[(e % MOVE_CELL) >> 1], 1.0);
+				}
+				if (state[c] == MinesweeperBoard.HIDDEN){	/* proposed until played */
+					return move(c, Move.Action.REVEAL, REASONS[(e % MOVE_CELL) >> 1], 0.0);
+				}
+				moves.remove();
+			}
+			if ((N = view.getMines() - mines.size()) <= 0 || lost){
+				return null;
+			}
+			reason = Move.Reason.SWEEP;
+			if (!secure.isEmpty()){
+				while (!secure.isEmpty()){
+					m = getUnknownNeighbors(secure.remove(), neighbors);
+					for (i = 0; i < m; ++i){
+						reveal(neighbors[i]);
+					}
+				}
+				t = lap(Move.Reason.SWEEP, t);
+				continue;
+			}
+			if (dirty.size() > 0){
+				sweep_board();
+				t = lap(Move.Reason.SWEEP, t);
+				continue;
+			}
+			if (reduction){
+				reason = Move.Reason.REDUCTION;
+				reduceConstraints();
+				t = lap(Move.Reason.REDUCTION, t);
+				if (dirty.size() > 0 || !moves.isEmpty()){
+					continue;
+				}
+			}
+			if (frontier != null){
+				reason = Move.Reason.FRONTIER;
+				m = frontier.solve(state, safe, forced);
+				applyFrontier();
+				t = lap(Move.Reason.FRONTIER, t);
+				if (m > 0){
+					continue;
+				}
+			}
+			if (unknown <= endgameLimit){
+				reason = Move.Reason.ENDGAME;
+				m = analysis().endgame(state, N, unknown, safe, forced);
+				applyFrontier();
+				t = lap(Move.Reason.ENDGAME, t);
+				if (m > 0){
+					continue;
+				}
+			}
+			c = pick(N);
+			guessRisk = risk(c, N);
+			guessAbsorbed = absorbed;
+			lap(Move.Reason.GUESS, t);
+			return move(lastGuess = c, Move.Action.REVEAL, Move.Reason.GUESS, guessRisk);
+		}
+	}
+
+	/* Picks the tile to guess: by the opening on an untouched board, by the
+	 * exact probabilities in exact configurations and in the endgame, and
+	 * by the heuristic scores otherwise. */
+	private int pick(final int N){
+		if (unknown == w * h && opening != SolverConfig.Opening.RANDOM){
+			return open();
+		}
+		return frontier == null && unknown > endgameLimit ? guess() : guessExactly(N);
+	}
+
+	/* The probability that the guess at cell c is a mine, as reported by
+	 * Move.getProbability(); c must have been picked by pick(N). */
+	private double risk(final int c, final int N){
+		if (unknown == w * h && (stepping ? view : board).getFirstReveal() != MinesweeperBoard.FirstReveal.ANY){	/* protected by the board */
+			return 0.0;
+		}
+		if (unknown == w * h && opening != SolverConfig.Opening.RANDOM || frontier == null && unknown > endgameLimit){
+			return getScore(c) > 0.0 ? getScore(c) : N * 1.0 / unknown;
+		}
+		return analysis.getProbability(c);
+	}
+
+	/* The time at which a stage starts, if metrics are kept. */
+	private long clock(){
+		return metrics == null ? 0 : System.nanoTime();
+	}
+
+	/* Charges the time since t to a stage, if metrics are kept, and returns
+	 * the time at which the next stage starts. */
+	private long lap(Move.Reason stage, final long t){
+		long now;
+		if (metrics == null){
+			return 0;
+		}
+		now = System.nanoTime();
+		metrics.stage(stage, now - t);
+		return now;
+	}
+
+	private Move move(final int c, Move.Action action, Move.Reason reason, final double probability){
+		return new Move(c, c / (w + 2) - 1, c % (w + 2) - 1, action, reason, probability);
+	}
+
+	/* The frontier solver of the endgame, allocated when first needed. */
+	private FrontierSolver analysis(){
+		if (analysis == null){
+			analysis = new FrontierSolver(w, h, nodeLimit);
+		}
+		return analysis;
+	}
+
+	/* Acts on the tiles found by the last frontier analysis; returns the
+	 * number of mines flagged. */
+	private int applyFrontier(){
+		int i, n = forced.size();
+		for (i = 0; i < safe.size() && !lost; ++i){
+			reveal(safe.get(i));
+		}
+		for (i = 0; i < forced.size(); ++i){
+			flag(forced.get(i));
+		}
+		safe.clear();
+		forced.clear();
+		return n;
+	}
+
+	/* Draws one of the hidden tiles with the lowest exact probability of
+	 * being a mine, given the last frontier analysis. */
+	private int guessExactly(final int N){
+		int j = 0, c, pm = -1;
+		double score, min_score = 1.0;
+		analysis.probabilities(N, unknown);
+		for (c = at(w, 0, 0); c < state.length; ++c){
+			if (state[c] != MinesweeperBoard.HIDDEN){
+				continue;
+			}
+			if ((score = analysis.getProbability(c)) < min_score){
+				min_score = score;
+				j = 1;
+				pm = c;
+			}else if (score == min_score && random.nextInt(++j) == 0){	/* reservoir sample among ties */
+				pm = c;
+			}
+		}
+		return pm;
+	}
+
+	/* Picks the first tile of a game by the configured opening. */
+	private int open(){
+		int c;
+		switch (opening){
+		case EDGE:
+			return (c = edge()) >= 0 ? c : corner();
+		case CENTER:
+			return at(w, (h - 1) / 2 + random.nextInt(2 - h % 2), (w - 1) / 2 + random.nextInt(2 - w % 2));
+		case OPTIMAL:
+			return optimal();
+		default:
+			return corner();
+		}
+	}
+
+	private int corner(){
+		return at(w, random.nextBoolean() ? 0 : h - 1, random.nextBoolean() ? 0 : w - 1);
+	}
+
+	/* Draws one of the edge tiles that are not corners, or returns -1 if
+	 * there is none.  On boards one tile wide both long edges are the same
+	 * row or column, which keeps the draw uniform. */
+	private int edge(){
+		int a = Math.max(w - 2, 0), b = Math.max(h - 2, 0), k;
+		if (a + b == 0){
+			return -1;
+		}
+		if ((k = random.nextInt(2 * (a + b))) < a){
+			return at(w, 0, 1 + k);
+		}else if ((k -= a) < a){
+			return at(w, h - 1, 1 + k);
+		}else if ((k -= a) < b){
+			return at(w, 1 + k, 0);
+		}
+		return at(w, 1 + k - b, w - 1);
+	}
+
+	/* Draws a corner, unless the board guarantees that the first tile is a
+	 * zero, in which case any tile. */
+	private int optimal(){
+		if ((stepping ? view : board).getFirstReveal() == MinesweeperBoard.FirstReveal.ZERO){
+			return at(w, random.nextInt(h), random.nextInt(w));
+		}
+		return corner();
+	}
+
+	int getUnknownNeighbors(final int c, int[] neighbors){
+		int k, n = 0;
+		for (k = 0; k < 8; ++k){
+			if (state[c + offsets[k]] == MinesweeperBoard.HIDDEN){
+				neighbors[n++] = c + offsets[k];
+			}
+		}
+		return n;
+	}
+
+	/* Rescores the guess candidates around every numbered cell whose
+	 * neighborhood changed since the last guess, then draws one of the
+	 * candidates with the lowest score.  Such cells are in stale once
+	 * constraint reduction has looked at them, and still in swept if it is
+	 * disabled.  Hidden tiles without a numbered neighbor score 0 and come
+	 * first. */
+	private int guess(){
+		while (swept.size() > 0){
+			rescore(swept.removeLast());
+		}
+		while (stale.size() > 0){
+			rescore(stale.removeLast());
+		}
+		return interior > 0 ? guessInterior() : scores.sample(random);
+	}
+
+	/* Draws a heuristic guess with the given generator, as a game does when
+	 * no stage makes progress, without revealing it. */
+	int guess(SplittableRandom random){
+		int c;
+		this.random = random;
+		c = guess();
+		this.random = null;
+		return c;
+	}
+
+	/* Draws one of the hidden tiles without a numbered neighbor: a page by
+	 * its number of such tiles, then a tile of the page. */
+	private int guessInterior(){
+		int p = 0, c, k = random.nextInt(interior);
+		while (k >= interiorPages[p]){
+			k -= interiorPages[p++];
+		}
+		for (c = p << PAGE_BITS; ; ++c){
+			if (state[c] == MinesweeperBoard.HIDDEN && !scores.contains(c) && k-- == 0){
+				return c;
+			}
+		}
+	}
+
+	private void rescore(final int c){
+		int k, nb;
+		for (k = 0; k < 8; ++k){
+			if (state[nb = c + offsets[k]] == MinesweeperBoard.HIDDEN){
+				scores.put(nb, getScore(nb));
+			}
+		}
+	}
+
+	/* Takes hidden cell c out of the guess candidates when it is revealed or
+	 * flagged. */
+	private void unscore(final int c){
+		if (scores.contains(c)){
+			scores.remove(c);
+		}else{
+			--interior;
+			--interiorPages[c >>> PAGE_BITS];
+		}
+	}
+
+	int sweep_board(){
+		int c, total = 0;
+		while (dirty.size() > 0){	/* only cells whose neighborhood changed since they were last swept */
+			c = dirty.removeLast();
+			if (swept != null){	/* the constraint of c and the guess scores around it may have changed */
+				swept.add(c);
+			}
+			if (!sweeped[c]){
+				total += sweep_cell(c);
+			}
+		}
+		return total;
+	}
+
+	private int sweep_cell(final int c){
+		int i, k, nb;
+		int N = state[c], hidden = 0;
+		final int[] s = around;
+		if (bits != null){
+			nb = bits.around(c);
+			N -= nb & Bitboard.MINES_MASK;
+			hidden = nb >>> Bitboard.HIDDEN_SHIFT;
+			if (N != 0 && hidden != N){	/* nothing to deduce */
+				return 0;
+			}
+			N = state[c];
+			hidden = 0;
+		}
+		for (k = 0; k < 8; ++k){
+			if ((nb = state[c + offsets[k]]) == MinesweeperBoard.MINE){
+				--N;
+			}else if (nb == MinesweeperBoard.HIDDEN){
+				s[hidden++] = c + offsets[k];
+			}
+		}
+		if (N == 0){
+			for (i = 0; i < hidden; ++i){
+				reveal(s[i]);
+			}
+		}
+		if (hidden == N){
+			for (i = 0; i < hidden; ++i){
+				flag(s[i]);
+			}
+			sweeped[c] = true;
+			return N;
+		}
+		return 0;
+	}
+
+	/* Reveals cell c together with the region of zeros around it, or in
+	 * step mode queues the move to reveal it.  Cells already revealed as
+	 * part of an earlier region are skipped.  Without a region buffer only
+	 * cell c is revealed; the rest of its region follows through secure. */
+	void reveal(final int c){
+		int i, n;
+		if (stepping){
+			if (!pending.contains(c)){
+				pending.add(c);
+				moves.add(c * MOVE_CELL + reason.ordinal() * 2);
+				if (metrics != null){
+					metrics.reveal(reason, 1);
+				}
+			}
+			return;
+		}
+		if (state[c] != MinesweeperBoard.HIDDEN){
+			return;
+		}
+		if (metrics != null){
+			metrics.reveal(reason, 1);
+		}
+		if (region == null){
+			absorb(c, board.reveal(c));
+			return;
+		}
+		n = board.revealRegion(c, region);
+		for (i = 0; i < n; ++i){
+			absorb(region[i], board.tileAt(region[i]));
+		}
+		if (metrics != null){
+			metrics.reveal(Move.Reason.SWEEP, n - 1);	/* the rest of the region of zeros */
+		}
+	}
+
+	/* Takes the revealed tile at cell c into the state.  In step mode and
+	 * on boards revealed a tile at a time the hidden neighbors of zeros are
+	 * revealed through secure. */
+	private void absorb(final int c, final int tile){
+		int k, nb;
+		--unknown;
+		if (scores != null){
+			unscore(c);
+		}
+		if ((state[c] = (byte)tile) == 0 && (stepping || region == null)){
+			secure.add(c);
+		}else if (tile == MinesweeperBoard.MINE){
+			lost = true;
+		}else if (tile > 0 && scores != null){
+			for (k = 0; k < 8; ++k){
+				if (state[nb = c + offsets[k]] == MinesweeperBoard.HIDDEN && !scores.contains(nb)){	/* scored properly by the next guess */
+					--interior;
+					--interiorPages[nb >>> PAGE_BITS];
+					scores.put(nb, 1.0);
+				}
+			}
+		}
+		if (bits != null){
+			bits.update(c, state[c]);
+		}
+		touch(c);
+	}
+
+	private void flag(final int c){
+		--unknown;
+		if (scores != null){
+			unscore(c);
+		}
+		state[c] = MinesweeperBoard.MINE;
+		if (bits != null){
+			bits.update(c, MinesweeperBoard.MINE);
+		}
+		mines.add(c);
+		touch(c);
+		if (metrics != null){
+			metrics.flag(reason);
+		}
+		if (stepping){
+			moves.add(c * MOVE_CELL + reason.ordinal() * 2 + MOVE_FLAG);
+		}
+	}
+
+	/* Queues the numbered cells whose deductions may have changed with cell c. */
+	private void touch(final int c){
+		int k;
+		if (state[c] > 0){
+			dirty.add(c);
+		}
+		for (k = 0; k < 8; ++k){
+			if (state[c + offsets[k]] > 0){
+				dirty.add(c + offsets[k]);
+			}
+		}
+	}
+
+	/* Updates the constraints of every numbered cell that sweep_board took
+	 * from the worklist since the last call, reduces them with the
+	 * constraints around them and acts on the cells found, then passes
+	 * those cells on to stale for the next guess.  Returns the number of
+	 * mines flagged. */
+	int reduceConstraints(){
+		int c, i, total = 0;
+		for (i = 0; i < swept.size(); ++i){	/* every changed constraint first, so that all of them are current */
+			constraints.update(swept.get(i), state);
+		}
+		while (swept.size() > 0){
+			c = swept.removeLast();
+			if (stale != null){
+				stale.add(c);
+			}
+			constraints.reduce(c, safe, forced);
+		}
+		for (i = 0; i < safe.size() && !lost; ++i){
+			if (state[safe.get(i)] == MinesweeperBoard.HIDDEN){
+				reveal(safe.get(i));
+			}
+		}
+		for (i = 0; i < forced.size(); ++i){
+			if (state[forced.get(i)] == MinesweeperBoard.HIDDEN){
+				flag(forced.get(i));
+				++total;
+			}
+		}
+		safe.clear();
+		forced.clear();
+		return total;
+	}
+
+	private double getProbability(final int c){
+		int k, nb, N = state[c], hidden = 0;
+		if (N <= 0){	/* zero, hidden, mine or border: no constraint */
+			return 0.0;
+		}
+		for (k = 0; k < 8; ++k){
+			if ((nb = state[c + offsets[k]]) == MinesweeperBoard.MINE){
+				--N;
+			}else if (nb == MinesweeperBoard.HIDDEN){
+				++hidden;
+			}
+		}
+		return N * 1.0 / hidden;
+	}
+
+	double getScore(final int c){
+		int k;
+		double prob, score = 0.0;
+		if (bits != null){
+			return bits.score(c, state);
+		}
+		for (k = 0; k < 8; ++k){
+			if ((prob = getProbability(c + offsets[k])) > score){
+				score = prob;
+			}
+		}
+		return score;
+	}
+
+	/* Overwrites this solver's game with a copy of another solver's game on
+	 * a board of the same dimensions and configuration.  The guess scores
+	 * are recomputed rather than copied. */
+	void copyFrom(MinesweeperSolver other, BoardOracle board){
+		this.board = board;
+		System.arraycopy(other.state, 0, state, 0, state.length);
+		System.arraycopy(other.sweeped, 0, sweeped, 0, sweeped.length);
+		secure.copyFrom(other.secure);
+		unknown = other.unknown;
+		dirty.copyFrom(other.dirty);
+		mines.copyFrom(other.mines);
+		if (bits != null){
+			bits.copyFrom(other.bits);
+		}
+		if (constraints != null){
+			constraints.copyFrom(other.constraints);
+		}
+		if (swept != null){
+			swept.copyFrom(other.swept);
+		}
+		if (stale != null){
+			stale.copyFrom(other.stale);
+		}
+		if (scores != null){
+			rebuildScores();
+		}
+	}
+
+	/* Scores every hidden cell with a numbered neighbor and counts the
+	 * others, as the game has come to this state. */
+	private void rebuildScores(){
+		int c, k;
+		boolean numbered;
+		scores.clear();
+		Arrays.fill(interiorPages, 0);
+		interior = 0;
+		for (c = at(w, 0, 0); c < state.length; ++c){
+			if (state[c] != MinesweeperBoard.HIDDEN){
+				continue;
+			}
+			numbered = false;
+			for (k = 0; k < 8; ++k){
+				numbered |= state[c + offsets[k]] > 0;
+			}
+			if (numbered){
+				scores.put(c, getScore(c));
+			}else{
+				++interior;
+				++interiorPages[c >>> PAGE_BITS];
+			}
+		}
+	}
+
+	static int at(final int w, final int row, final int col){
+		return (row + 1) * (w + 2) + col + 1;
+	}
+}
@@ -0,0 +1,115 @@
+package minesweeper;
+
+/**
+ * A move proposed by {@link MinesweeperSolver#nextMove(BoardView)}: a tile
+ * to reveal or to flag, the stage of the solver that found it, and the
+ * probability that the tile is a mine.
+ */
+public final class Move {
+	/**
+	 * What to do with the tile.
+	 */
+	public enum Action {
+		/** Reveal the tile. */
+		REVEAL,
+		/** Mark the tile as a mine.  The solver treats it as flagged from now on. */
+		FLAG
+	}
+
+	/**
+	 * How the solver found the move.
+	 */
+	public enum Reason {
+		/** A single number, or a revealed zero, determines the tile. */
+		SWEEP,
+		/** Two neighboring numbers determine the tile together. */
+		REDUCTION,
+		/** The exact analysis of the frontier determines the tile. */
+		FRONTIER,
+		/** The frontier together with the number of mines left determines the tile. */
+		ENDGAME,
+		/** No tile is determined; the tile is the least dangerous one. */
+		GUESS
+	}
+
+	private final int index, row, column;
+	private final Action action;
+	private final Reason reason;
+	private final double probability;
+
+	Move(int index, int row, int column, Action action, Reason reason, double probability) {
+		this.index = index;
+		this.row = row;
+		this.column = column;
+		this.action = action;
+		this.reason = reason;
+		this.probability = probability;
+	}
+
+	/**
+	 * Returns the cell index of the tile (see
+	 * {@link MinesweeperBoard#getIndex(int,int)}).
+	 *
+	 * @return The cell index of the tile.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the row of the tile.
+	 *
+	 * @return The row of the tile.
+	 */
+	public int getRow() {
+		return row;
+	}
+
+	/**
+	 * Returns the column of the tile.
+	 *
+	 * @return The column of the tile.
+	 */
+	public int getColumn() {
+		return column;
+	}
+
+	/**
+	 * Returns what to do with the tile.
+	 *
+	 * @return The action of this move.
+	 */
+	public Action getAction() {
+		return action;
+	}
+
+	/**
+	 * Returns how the solver found this move.
+	 *
+	 * @return The reason for this move.
+	 */
+	public Reason getReason() {
+		return reason;
+	}
+
+	/**
+	 * Returns the probability that the tile is a mine: 0 for deduced safe
+	 * tiles, 1 for deduced mines, and the solver's estimate for guesses.
+	 * Exact solvers, and heuristic solvers in the endgame (see
+	 * {@link SolverConfig#setEndgameLimit(int)}), estimate by the exact
+	 * probability given the revealed numbers and the number of mines left;
+	 * otherwise, heuristic solvers estimate by the largest fraction of
+	 * unflagged mines among the hidden neighbors of any numbered neighbor, or
+	 * by the fraction of mines left among the hidden tiles if the tile has no
+	 * numbered neighbor.
+	 *
+	 * @return The probability that the tile is a mine.
+	 */
+	public double getProbability() {
+		return probability;
+	}
+
+	public String toString() {
+		return action + " (" + row + ", " + column + ") by " + reason + (reason == Reason.GUESS ? " p=" + probability : "");
+	}
+}
@@ -0,0 +1,184 @@
+package minesweeper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a result file written by {@link ResultWriter} one record at a
+ * time.  The file is read sequentially through a direct buffer, and the
+ * fields of the current record are returned by the getters, so reading
+ * allocates nothing per record and files of hundreds of millions of
+ * records can be summarized in one pass (see {@link #summarize()}).
+ */
+public class ResultReader implements Closeable {
+	private final FileChannel channel;
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(ResultWriter.RECORD_SIZE << 14);
+	private int trial, width, height, mines, found, guesses;
+	private long seed, nanos;
+
+	/**
+	 * Opens a result file and checks its header.
+	 *
+	 * @param path The file to read.
+	 * @throws IOException If the file cannot be read, or is not a result file
+	 * of the current version.
+	 * @throws IllegalArgumentException If <code>path</code> is
+	 * <code>null</code>.
+	 */
+	public ResultReader(Path path) throws IOException {
+		if (path == null)
+			throw new IllegalArgumentException();
+
+		channel = FileChannel.open(path, StandardOpenOption.READ);
+		buffer.limit(0);
+		if (!fill(8) || buffer.getInt() != ResultWriter.MAGIC || buffer.getInt() != ResultWriter.VERSION) {
+			channel.close();
+			throw new IOException("not a result file: " + path);
+		}
+	}
+
+	/**
+	 * Advances to the next record.
+	 *
+	 * @return <code>true</code> if there is a next record, or
+	 * <code>false</code> at the end of the file.
+	 * @throws IOException If the file cannot be read or ends within a
+	 * record.
+	 */
+	public boolean next() throws IOException {
+		if (!fill(ResultWriter.RECORD_SIZE)) {
+			if (buffer.hasRemaining())
+				throw new IOException("truncated record");
+			return false;
+		}
+		trial = buffer.getInt();
+		seed = buffer.getLong();
+		width = buffer.getInt();
+		height = buffer.getInt();
+		mines = buffer.getInt();
+		found = buffer.getInt();
+		guesses = buffer.getInt();
+		nanos = buffer.getLong();
+		return true;
+	}
+
+	/* Reads until at least n bytes are buffered; false at the end of the file. */
+	private boolean fill(int n) throws IOException {
+		if (buffer.remaining() >= n)
+			return true;
+		buffer.compact();
+		while (buffer.position() < n && channel.read(buffer) >= 0)
+			;
+		buffer.flip();
+		return buffer.remaining() >= n;
+	}
+
+	/**
+	 * Returns the index of the trial of the current record.
+	 *
+	 * @return The index of the trial.
+	 */
+	public int getTrial() {
+		return trial;
+	}
+
+	/**
+	 * Returns the seed of the generator of the current record's trial.
+	 *
+	 * @return The seed of the trial.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns the width of the board of the current record.
+	 *
+	 * @return The width of the board.
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Returns the height of the board of the current record.
+	 *
+	 * @return The height of the board.
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Returns the number of mines on the board of the current record.
+	 *
+	 * @return The number of mines on the board.
+	 */
+	public int getMines() {
+		return mines;
+	}
+
+	/**
+	 * Returns the number of mines found in the game of the current record.
+	 *
+	 * @return The number of mines found.
+	 */
+	public int getFound() {
+		return found;
+	}
+
+	/**
+	 * Indicates whether the game of the current record was won, i.e. every
+	 * mine was found.
+	 *
+	 * @return <code>true</code> if the game was won.
+	 */
+	public boolean isWon() {
+		return found == mines;
+	}
+
+	/**
+	 * Returns the number of guesses made in the game of the current record.
+	 *
+	 * @return The number of guesses.
+	 */
+	public int getGuesses() {
+		return guesses;
+	}
+
+	/**
+	 * Returns the time taken to solve the board of the current record.
+	 *
+	 * @return The solve time in nanoseconds.
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	/**
+	 * Reads the remaining records of the file and summarizes them.
+	 *
+	 * @return The summary of the remaining records.
+	 * @throws IOException If the file cannot be read or ends within a
+	 * record.
+	 */
+	public ResultSummary summarize() throws IOException {
+		ResultSummary summary = new ResultSummary();
+		while (next())
+			summary.record(trial, mines, found, guesses, nanos);
+		return summary;
+	}
+
+	/**
+	 * Closes the file.
+	 *
+	 * @throws IOException If closing the file failed.
+	 */
+	public void close() throws IOException {
+		channel.close();
+	}
+}
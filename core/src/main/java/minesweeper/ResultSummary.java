@@ -0,0 +1,152 @@
+package minesweeper;
+
+/**
+ * Summary statistics of the game records of a result file (see
+ * {@link ResultReader#summarize()}).  Like {@link TrialStats}, it keeps
+ * only integer sums, so summaries of parts of a file can be merged in any
+ * order.
+ */
+public class ResultSummary {
+	private long games;
+	private long successes;
+	private long minesFound;
+	private long guesses;
+	private long guessFree;
+	private long nanos;
+	private long maxNanos;
+	private int firstFailure = -1;
+
+	/**
+	 * Records the outcome of a single game.
+	 *
+	 * @param trial The index of the trial that was played.
+	 * @param mines The number of mines on the board.
+	 * @param found The number of mines found.
+	 * @param guesses The number of guesses made.
+	 * @param nanos The time taken to solve the board.
+	 */
+	public void record(int trial, int mines, int found, int guesses, long nanos) {
+		games++;
+		minesFound += found;
+		this.guesses += guesses;
+		this.nanos += nanos;
+		maxNanos = Math.max(maxNanos, nanos);
+		if (found == mines) {
+			successes++;
+			if (guesses <= 1)
+				guessFree++;
+		} else if (firstFailure < 0 || trial < firstFailure) {
+			firstFailure = trial;
+		}
+	}
+
+	/**
+	 * Adds the sums of another <code>ResultSummary</code> object to this one.
+	 *
+	 * @param other The summary to merge into this object.
+	 * @return This object.
+	 */
+	public ResultSummary merge(ResultSummary other) {
+		games += other.games;
+		successes += other.successes;
+		minesFound += other.minesFound;
+		guesses += other.guesses;
+		guessFree += other.guessFree;
+		nanos += other.nanos;
+		maxNanos = Math.max(maxNanos, other.maxNanos);
+		if (other.firstFailure >= 0 && (firstFailure < 0 || other.firstFailure < firstFailure))
+			firstFailure = other.firstFailure;
+		return this;
+	}
+
+	/**
+	 * Returns the number of games recorded.
+	 *
+	 * @return The number of games.
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games in which every mine was found.
+	 *
+	 * @return The number of successful games.
+	 */
+	public long getSuccesses() {
+		return successes;
+	}
+
+	/**
+	 * Returns the number of successful games that needed no guess after the
+	 * first reveal.
+	 *
+	 * @return The number of games won without guessing.
+	 */
+	public long getGuessFree() {
+		return guessFree;
+	}
+
+	/**
+	 * Returns the lowest index of a trial in which not every mine was found.
+	 *
+	 * @return The index of the first failed trial, or -1 if every game was
+	 * successful.
+	 */
+	public int getFirstFailure() {
+		return firstFailure;
+	}
+
+	/**
+	 * Returns the fraction of games in which every mine was found.
+	 *
+	 * @return The success rate, or 0 if no games were recorded.
+	 */
+	public double getSuccessRate() {
+		return games == 0 ? 0.0 : successes * 1.0 / games;
+	}
+
+	/**
+	 * Returns the average number of mines found per game.
+	 *
+	 * @return The average score, or 0 if no games were recorded.
+	 */
+	public double getAverageScore() {
+		return games == 0 ? 0.0 : minesFound * 1.0 / games;
+	}
+
+	/**
+	 * Returns the average number of guesses per game, the first reveal
+	 * included.
+	 *
+	 * @return The average number of guesses, or 0 if no games were recorded.
+	 */
+	public double getAverageGuesses() {
+		return games == 0 ? 0.0 : guesses * 1.0 / games;
+	}
+
+	/**
+	 * Returns the average time taken to solve a board.
+	 *
+	 * @return The average solve time in nanoseconds, or 0 if no games were
+	 * recorded.
+	 */
+	public double getAverageNanos() {
+		return games == 0 ? 0.0 : nanos * 1.0 / games;
+	}
+
+	/**
+	 * Returns the longest time taken to solve a board.
+	 *
+	 * @return The longest solve time in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public String toString() {
+		return "games == " + games + "\naverage score == " + getAverageScore() + "\nsuccess rate == " + getSuccessRate()
+			+ "\nguess-free wins == " + guessFree + "\naverage guesses == " + getAverageGuesses()
+			+ "\naverage nanos == " + getAverageNanos() + "\nmax nanos == " + maxNanos;
+	}
+}
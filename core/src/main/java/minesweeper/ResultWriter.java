@@ -0,0 +1,178 @@
+package minesweeper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the outcome of every game of a series to a binary file, one
+ * fixed-size record per game, for analysis after the run.  The file starts
+ * with an 8-byte header (the magic number {@link #MAGIC} and the format
+ * {@link #VERSION}), followed by records of {@link #RECORD_SIZE} bytes in
+ * big-endian order:
+ * <pre>
+ * int  trial     the index of the trial
+ * long seed      the seed of the trial's generator
+ * int  width, height, mines
+ * int  found     the number of mines found; the game was won if found == mines
+ * int  guesses   the number of guesses made
+ * long nanos     the time taken to solve the board
+ * </pre>
+ * {@link ResultReader} reads the file back.
+ *
+ * <p>The threads that play the games each write through a {@link Batch}
+ * of their own, which fills a buffer without synchronization and hands it
+ * to a background thread when it is full; that thread writes the buffer to
+ * the file channel and returns it to a pool for reuse.  Playing threads
+ * therefore never wait for the file; the queue of full buffers is not
+ * bounded, as games produce records far slower than a file is written.
+ * The records of different batches are interleaved in the file in the
+ * order in which their buffers fill up.
+ */
+public class ResultWriter implements Closeable {
+	/**
+	 * The first four bytes of a result file, <code>"MSWR"</code>.
+	 */
+	public static final int MAGIC = 0x4d535752;
+
+	/**
+	 * The version of the format of the records.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of a record in bytes.
+	 */
+	public static final int RECORD_SIZE = 40;
+
+	/* Records per buffer handed to the background thread, about 64 KiB. */
+	private static final int BUFFER_RECORDS = (1 << 16) / RECORD_SIZE;
+
+	private final FileChannel channel;
+	private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+		Thread thread = new Thread(r, "result-writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+	private volatile IOException failure;
+
+	/**
+	 * Creates a result file, replacing any existing file, and writes its
+	 * header.
+	 *
+	 * @param path The file to write.
+	 * @throws IOException If the file cannot be created or written.
+	 * @throws IllegalArgumentException If <code>path</code> is
+	 * <code>null</code>.
+	 */
+	public ResultWriter(Path path) throws IOException {
+		if (path == null)
+			throw new IllegalArgumentException();
+
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+		header.flip();
+		while (header.hasRemaining())
+			channel.write(header);
+	}
+
+	/**
+	 * Returns a new batch through which one thread writes records.
+	 *
+	 * @return A new batch.
+	 */
+	public Batch batch() {
+		return new Batch();
+	}
+
+	private ByteBuffer take() {
+		ByteBuffer buffer = free.poll();
+		return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_RECORDS * RECORD_SIZE);
+	}
+
+	private void submit(ByteBuffer buffer) {
+		buffer.flip();
+		writer.execute(() -> {
+			try {
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			} catch (IOException e) {
+				if (failure == null)
+					failure = e;
+			}
+			buffer.clear();
+			free.add(buffer);
+		});
+	}
+
+	/**
+	 * Waits until every buffer handed to the background thread has been
+	 * written, and closes the file.  Records of batches that have not been
+	 * flushed are lost.
+	 *
+	 * @throws IOException If writing or closing the file failed.
+	 */
+	public void close() throws IOException {
+		writer.shutdown();
+		try {
+			while (!writer.awaitTermination(1, TimeUnit.MINUTES))
+				;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		channel.close();
+		if (failure != null)
+			throw failure;
+	}
+
+	/**
+	 * A buffer of records written by one thread.  Batches are not thread
+	 * safe.
+	 */
+	public final class Batch {
+		private ByteBuffer buffer;
+
+		private Batch() {
+		}
+
+		/**
+		 * Appends the record of a game.
+		 *
+		 * @param trial The index of the trial.
+		 * @param seed The seed of the trial's generator.
+		 * @param width The width of the board.
+		 * @param height The height of the board.
+		 * @param mines The number of mines on the board.
+		 * @param found The number of mines found.
+		 * @param guesses The number of guesses made.
+		 * @param nanos The time taken to solve the board.
+		 */
+		public void record(int trial, long seed, int width, int height, int mines, int found, int guesses, long nanos) {
+			if (buffer == null) {
+				buffer = take();
+			} else if (buffer.remaining() < RECORD_SIZE) {
+				submit(buffer);
+				buffer = take();
+			}
+			buffer.putInt(trial).putLong(seed).putInt(width).putInt(height).putInt(mines)
+				.putInt(found).putInt(guesses).putLong(nanos);
+		}
+
+		/**
+		 * Hands the records appended so far to the background thread.
+		 */
+		public void flush() {
+			if (buffer != null)
+				submit(buffer);
+			buffer = null;
+		}
+	}
+}
@@ -0,0 +1,114 @@
+package minesweeper;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A set of cell indices grouped by score, from which a random cell with the
+ * lowest score is drawn in constant time.  Scores are the values that
+ * {@link MinesweeperSolver} computes for guess candidates, i.e. fractions
+ * <code>a / b</code> with <code>|a| &lt;= 8</code> and
+ * <code>1 &lt;= b &lt;= 8</code>; each distinct value has its own bucket.
+ * Moving a cell to another bucket and removing it are constant-time
+ * operations.  Like those of {@link CellSet}, the maps from cells to
+ * buckets are kept in pages allocated on first use.
+ */
+final class ScoreIndex {
+	/* The distinct scores in ascending order. */
+	private static final double[] LEVELS;
+	static {
+		double[] levels = new double[17 * 8];
+		int n = 0;
+		for (int a = -8; a <= 8; a++)
+			for (int b = 1; b <= 8; b++)
+				levels[n++] = a * 1.0 / b;
+		Arrays.sort(levels);
+		n = 0;
+		for (int i = 0; i < levels.length; i++)
+			if (i == 0 || levels[i] != levels[n - 1])
+				levels[n++] = levels[i];
+		LEVELS = Arrays.copyOf(levels, n);
+	}
+
+	private static final int PAGE_BITS = CellSet.PAGE_BITS, PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+	/* The bucket of each cell, -1 for non-members, and its position there. */
+	private final int[][] bucketOf, position;
+	private final int[][] buckets = new int[LEVELS.length][];
+	private final int[] sizes = new int[LEVELS.length];
+	/* No bucket below this one has members. */
+	private int lowest = LEVELS.length;
+
+	ScoreIndex(int capacity) {
+		bucketOf = new int[(capacity + PAGE_MASK) >>> PAGE_BITS][];
+		position = new int[bucketOf.length][];
+		for (int i = 0; i < buckets.length; i++)
+			buckets[i] = new int[4];
+	}
+
+	boolean contains(int cell) {
+		int[] page = bucketOf[cell >>> PAGE_BITS];
+		return page != null && page[cell & PAGE_MASK] >= 0;
+	}
+
+	/**
+	 * Adds a cell with the given score, or moves it if it is already a member.
+	 * A score that is not one of the expected fractions shares the bucket of
+	 * the next larger one.
+	 */
+	void put(int cell, double score) {
+		int b = Arrays.binarySearch(LEVELS, score);
+		if (b < 0)
+			b = Math.min(-b - 1, LEVELS.length - 1);
+		int page = cell >>> PAGE_BITS, i = cell & PAGE_MASK;
+		if (bucketOf[page] == null) {
+			bucketOf[page] = new int[PAGE_MASK + 1];
+			position[page] = new int[PAGE_MASK + 1];
+			Arrays.fill(bucketOf[page], -1);
+		}
+		if (bucketOf[page][i] == b)
+			return;
+		remove(cell);
+		if (sizes[b] == buckets[b].length)
+			buckets[b] = Arrays.copyOf(buckets[b], sizes[b] * 2);
+		position[page][i] = sizes[b];
+		buckets[b][sizes[b]++] = cell;
+		bucketOf[page][i] = b;
+		if (b < lowest)
+			lowest = b;
+	}
+
+	void remove(int cell) {
+		int page = cell >>> PAGE_BITS, i = cell & PAGE_MASK, b;
+		if (bucketOf[page] == null || (b = bucketOf[page][i]) < 0)
+			return;
+		int last = buckets[b][--sizes[b]], p = position[page][i];
+		buckets[b][p] = last;
+		position[last >>> PAGE_BITS][last & PAGE_MASK] = p;
+		bucketOf[page][i] = -1;
+	}
+
+	/* Removes all members. */
+	void clear() {
+		for (int b = 0; b < buckets.length; b++) {
+			for (int i = 0; i < sizes[b]; i++)
+				bucketOf[buckets[b][i] >>> PAGE_BITS][buckets[b][i] & PAGE_MASK] = -1;
+			sizes[b] = 0;
+		}
+		lowest = LEVELS.length;
+	}
+
+	/**
+	 * Draws a member with the lowest score, every such member being equally
+	 * likely.
+	 *
+	 * @return The drawn cell, or <code>-1</code> if this index is empty.
+	 */
+	int sample(SplittableRandom random) {
+		while (lowest < sizes.length && sizes[lowest] == 0)
+			lowest++;
+		if (lowest == sizes.length)
+			return -1;
+		return buckets[lowest][random.nextInt(sizes[lowest])];
+	}
+}
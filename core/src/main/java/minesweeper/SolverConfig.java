@@ -0,0 +1,227 @@
+package minesweeper;
+
+/**
+ * The deduction stages that a {@link MinesweeperSolver} runs.  Every solver
+ * reveals the neighbors of exhausted numbers and flags the hidden neighbors
+ * of saturated ones; the stages below run, in this order, whenever that
+ * makes no progress:
+ * <ul>
+ * <li>constraint reduction, which compares the constraints of neighboring
+ * numbers (enabled by default),
+ * <li>exact frontier analysis, which enumerates the assignments of the
+ * hidden frontier and finds every deducible tile (disabled by default),
+ * <li>the endgame, which once few hidden tiles are left analyzes the
+ * frontier exactly and also takes the number of mines left into account
+ * (from {@value #DEFAULT_ENDGAME_LIMIT} hidden tiles by default).
+ * </ul>
+ * When no stage makes progress the solver guesses: by exact mine
+ * probabilities if the frontier analysis is enabled or the endgame has
+ * begun, and by the heuristic score of each tile otherwise.  The first
+ * guess of a game is made by the configured {@link Opening}.
+ *
+ * <p>A solver copies its configuration when it is constructed, so changing
+ * a <code>SolverConfig</code> afterwards does not affect existing solvers.
+ */
+public class SolverConfig {
+	/**
+	 * Where the solver reveals the first tile of a game, before anything is
+	 * known about the board.
+	 */
+	public enum Opening {
+		/** A tile drawn like any other guess, i.e. uniformly at random. */
+		RANDOM,
+		/** A random corner. */
+		CORNER,
+		/**
+		 * A random tile on the edge of the board that is not a corner, or a
+		 * corner if there is none.
+		 */
+		EDGE,
+		/** The center of the board, or one of the central tiles. */
+		CENTER,
+		/**
+		 * A corner, unless the board guarantees that the first tile is a
+		 * zero (see {@link BoardView#getFirstReveal()}), in which case a tile
+		 * drawn like {@link #RANDOM}.  Corners win most often on boards
+		 * without that guarantee.  With it, no fixed opening wins on every
+		 * board size: a random tile does best on small boards and the center
+		 * on expert boards.
+		 */
+		OPTIMAL
+	}
+
+	/**
+	 * The number of hidden tiles from which the endgame runs by default.
+	 */
+	public static final int DEFAULT_ENDGAME_LIMIT = 64;
+
+	private boolean reduction = true;
+	private boolean exact;
+	private long nodeLimit = 1 << 20;
+	private int endgameLimit = DEFAULT_ENDGAME_LIMIT;
+	private Opening opening = Opening.RANDOM;
+	private boolean metrics;
+
+	/**
+	 * Initializes a new <code>SolverConfig</code> with the default stages.
+	 */
+	public SolverConfig() {
+	}
+
+	/**
+	 * Initializes a new <code>SolverConfig</code> with the default stages and
+	 * the frontier analysis enabled or disabled.  Exact configurations do not
+	 * reduce constraints, since the frontier analysis finds the same tiles.
+	 *
+	 * @param exact Whether to enable the exact frontier analysis.
+	 */
+	public SolverConfig(boolean exact) {
+		this.exact = exact;
+		reduction = !exact;
+	}
+
+	/**
+	 * Indicates whether constraint reduction is enabled.
+	 *
+	 * @return <code>true</code> if constraint reduction is enabled.
+	 */
+	public boolean isReduction() {
+		return reduction;
+	}
+
+	/**
+	 * Enables or disables constraint reduction.
+	 *
+	 * @param reduction Whether to reduce constraints.
+	 * @return This object.
+	 */
+	public SolverConfig setReduction(boolean reduction) {
+		this.reduction = reduction;
+		return this;
+	}
+
+	/**
+	 * Indicates whether the exact frontier analysis is enabled.
+	 *
+	 * @return <code>true</code> if the exact frontier analysis is enabled.
+	 */
+	public boolean isExact() {
+		return exact;
+	}
+
+	/**
+	 * Enables or disables the exact frontier analysis, which also selects how
+	 * guesses are chosen.
+	 *
+	 * @param exact Whether to analyze the frontier exactly.
+	 * @return This object.
+	 */
+	public SolverConfig setExact(boolean exact) {
+		this.exact = exact;
+		return this;
+	}
+
+	/**
+	 * Returns the maximum number of partial assignments that the exact
+	 * frontier analysis explores per component.
+	 *
+	 * @return The search budget per component.
+	 */
+	public long getNodeLimit() {
+		return nodeLimit;
+	}
+
+	/**
+	 * Sets the maximum number of partial assignments that the exact frontier
+	 * analysis explores per component.  A component whose enumeration
+	 * exceeds this budget yields no deductions.
+	 *
+	 * @param nodeLimit The search budget per component.
+	 * @return This object.
+	 * @throws IllegalArgumentException If <code>nodeLimit</code> is not
+	 * positive.
+	 */
+	public SolverConfig setNodeLimit(long nodeLimit) {
+		if (nodeLimit < 1)
+			throw new IllegalArgumentException();
+
+		this.nodeLimit = nodeLimit;
+		return this;
+	}
+
+	/**
+	 * Returns the largest number of hidden tiles for which the endgame runs.
+	 *
+	 * @return The number of hidden tiles from which the endgame runs.
+	 */
+	public int getEndgameLimit() {
+		return endgameLimit;
+	}
+
+	/**
+	 * Sets the largest number of hidden tiles, flagged tiles excluded, for
+	 * which the endgame runs.  The endgame enumerates the whole frontier with
+	 * the search budget of {@link #getNodeLimit()} per component, so the
+	 * limit bounds its cost; 0 disables it.
+	 *
+	 * @param endgameLimit The number of hidden tiles from which the endgame
+	 * runs.
+	 * @return This object.
+	 * @throws IllegalArgumentException If <code>endgameLimit</code> is
+	 * negative.
+	 */
+	public SolverConfig setEndgameLimit(int endgameLimit) {
+		if (endgameLimit < 0)
+			throw new IllegalArgumentException();
+
+		this.endgameLimit = endgameLimit;
+		return this;
+	}
+
+	/**
+	 * Returns where the first tile of a game is revealed.
+	 *
+	 * @return The opening of every game.
+	 */
+	public Opening getOpening() {
+		return opening;
+	}
+
+	/**
+	 * Sets where the first tile of a game is revealed.
+	 *
+	 * @param opening The opening of every game.
+	 * @return This object.
+	 * @throws IllegalArgumentException If <code>opening</code> is
+	 * <code>null</code>.
+	 */
+	public SolverConfig setOpening(Opening opening) {
+		if (opening == null)
+			throw new IllegalArgumentException();
+
+		this.opening = opening;
+		return this;
+	}
+
+	/**
+	 * Indicates whether solvers keep metrics of their stages.
+	 *
+	 * @return <code>true</code> if solvers keep metrics.
+	 */
+	public boolean isMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Enables or disables the metrics of the stages, which solvers then make
+	 * available through {@link MinesweeperSolver#getMetrics()}.  Disabled by
+	 * default.
+	 *
+	 * @param metrics Whether to keep metrics.
+	 * @return This object.
+	 */
+	public SolverConfig setMetrics(boolean metrics) {
+		this.metrics = metrics;
+		return this;
+	}
+}
@@ -0,0 +1,200 @@
+package minesweeper;
+
+import java.util.Locale;
+
+/**
+ * Counters and timers of the stages of a {@link MinesweeperSolver}, summed
+ * over the games it has played since it was constructed.  A solver only
+ * keeps metrics if its configuration enables them (see
+ * {@link SolverConfig#setMetrics(boolean)}); otherwise every hook is a
+ * branch on a <code>null</code> field, so solvers without metrics run as
+ * fast as before.
+ *
+ * <p>The stages are those that a move can be attributed to, i.e. the values
+ * of {@link Move.Reason}.  For each stage the metrics record how often it
+ * ran, the time it took, and the tiles it revealed and flagged.  Tiles
+ * revealed because they are next to a revealed zero count for
+ * {@link Move.Reason#SWEEP}, whichever stage revealed the zero.  Guesses are
+ * also counted by their probability of being a mine, as reported by
+ * {@link Move#getProbability()}, in {@value #BUCKETS} buckets of equal
+ * width.
+ *
+ * <p>Metrics of several solvers, e.g. of the threads of a
+ * {@link TrialRunner}, are combined with {@link #merge(SolverMetrics)}, and
+ * exported as JSON or CSV with the same names.
+ */
+public class SolverMetrics {
+	/**
+	 * The number of buckets of the guess histogram.
+	 */
+	public static final int BUCKETS = 10;
+
+	private static final Move.Reason[] STAGES = Move.Reason.values();
+
+	private long games;
+	private final long[] calls = new long[STAGES.length];
+	private final long[] nanos = new long[STAGES.length];
+	private final long[] revealed = new long[STAGES.length];
+	private final long[] flagged = new long[STAGES.length];
+	private final long[] guesses = new long[BUCKETS];
+
+	void game() {
+		games++;
+	}
+
+	void stage(Move.Reason stage, long elapsed) {
+		calls[stage.ordinal()]++;
+		nanos[stage.ordinal()] += elapsed;
+	}
+
+	void reveal(Move.Reason stage, int tiles) {
+		revealed[stage.ordinal()] += tiles;
+	}
+
+	void flag(Move.Reason stage) {
+		flagged[stage.ordinal()]++;
+	}
+
+	void guess(double probability) {
+		guesses[Math.min(Math.max((int)(probability * BUCKETS), 0), BUCKETS - 1)]++;
+	}
+
+	/**
+	 * Returns the number of games played.
+	 *
+	 * @return The number of games played.
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns how often a stage ran.  A stage runs whenever the stages
+	 * before it made no progress; guesses are counted as runs of
+	 * {@link Move.Reason#GUESS}.
+	 *
+	 * @param stage The stage.
+	 * @return The number of runs of the stage.
+	 */
+	public long getCalls(Move.Reason stage) {
+		return calls[stage.ordinal()];
+	}
+
+	/**
+	 * Returns the time spent in a stage, including the reveals and flags
+	 * that it made.
+	 *
+	 * @param stage The stage.
+	 * @return The time spent in the stage, in nanoseconds.
+	 */
+	public long getNanos(Move.Reason stage) {
+		return nanos[stage.ordinal()];
+	}
+
+	/**
+	 * Returns the number of tiles revealed by a stage.
+	 *
+	 * @param stage The stage.
+	 * @return The number of tiles revealed by the stage.
+	 */
+	public long getRevealed(Move.Reason stage) {
+		return revealed[stage.ordinal()];
+	}
+
+	/**
+	 * Returns the number of tiles flagged by a stage.
+	 *
+	 * @param stage The stage.
+	 * @return The number of tiles flagged by the stage.
+	 */
+	public long getFlagged(Move.Reason stage) {
+		return flagged[stage.ordinal()];
+	}
+
+	/**
+	 * Returns the number of guesses whose probability of being a mine was in
+	 * a bucket of the histogram, i.e. in
+	 * <code>[bucket / BUCKETS, (bucket + 1) / BUCKETS)</code>; the last
+	 * bucket includes 1.
+	 *
+	 * @param bucket The bucket, in the range <code>[0, BUCKETS)</code>.
+	 * @return The number of guesses in the bucket.
+	 * @throws IllegalArgumentException If <code>bucket</code> is out of
+	 * range.
+	 */
+	public long getGuesses(int bucket) {
+		if (bucket < 0 || bucket >= BUCKETS)
+			throw new IllegalArgumentException();
+
+		return guesses[bucket];
+	}
+
+	/**
+	 * Adds the metrics of another <code>SolverMetrics</code> object to this
+	 * one.
+	 *
+	 * @param other The metrics to merge into this object.
+	 * @return This object.
+	 */
+	public SolverMetrics merge(SolverMetrics other) {
+		games += other.games;
+		for (int s = 0; s < STAGES.length; s++) {
+			calls[s] += other.calls[s];
+			nanos[s] += other.nanos[s];
+			revealed[s] += other.revealed[s];
+			flagged[s] += other.flagged[s];
+		}
+		for (int b = 0; b < BUCKETS; b++)
+			guesses[b] += other.guesses[b];
+		return this;
+	}
+
+	/**
+	 * Returns the metrics as a JSON object: the number of games, an object
+	 * per stage with its calls, nanoseconds, revealed and flagged tiles, and
+	 * the guess histogram as an array.
+	 *
+	 * @return The metrics in JSON.
+	 */
+	public String toJson() {
+		StringBuilder sb = new StringBuilder("{\"games\":").append(games).append(",\"stages\":{");
+		for (int s = 0; s < STAGES.length; s++)
+			sb.append(s == 0 ? "\"" : ",\"").append(name(s)).append("\":{\"calls\":").append(calls[s])
+				.append(",\"nanos\":").append(nanos[s])
+				.append(",\"revealed\":").append(revealed[s])
+				.append(",\"flagged\":").append(flagged[s]).append('}');
+		sb.append("},\"guesses\":[");
+		for (int b = 0; b < BUCKETS; b++)
+			sb.append(b == 0 ? "" : ",").append(guesses[b]);
+		return sb.append("]}").toString();
+	}
+
+	/**
+	 * Returns the metrics as CSV with a header line and one line per
+	 * value, named like the fields of {@link #toJson()}: <code>games</code>,
+	 * <code>sweep.calls</code> and so on, and <code>guesses.0</code> to
+	 * <code>guesses.9</code> for the histogram.
+	 *
+	 * @return The metrics in CSV.
+	 */
+	public String toCsv() {
+		StringBuilder sb = new StringBuilder("metric,value\ngames,").append(games).append('\n');
+		for (int s = 0; s < STAGES.length; s++) {
+			sb.append(name(s)).append(".calls,").append(calls[s]).append('\n');
+			sb.append(name(s)).append(".nanos,").append(nanos[s]).append('\n');
+			sb.append(name(s)).append(".revealed,").append(revealed[s]).append('\n');
+			sb.append(name(s)).append(".flagged,").append(flagged[s]).append('\n');
+		}
+		for (int b = 0; b < BUCKETS; b++)
+			sb.append("guesses.").append(b).append(',').append(guesses[b]).append('\n');
+		return sb.toString();
+	}
+
+	private static String name(int stage) {
+		return STAGES[stage].name().toLowerCase(Locale.ROOT);
+	}
+
+	public String toString() {
+		return toJson();
+	}
+}
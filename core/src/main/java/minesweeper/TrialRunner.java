@@ -0,0 +1,278 @@
+package minesweeper;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+
+/**
+ * Plays a series of games on random boards of a fixed size, or on the
+ * boards of a {@link BoardCorpus}, and collects their outcomes into a
+ * {@link TrialStats} object.
+ */
+public class TrialRunner {
+	private final int width, height, mines;
+	private final long seed;
+	private final BoardCorpus corpus;
+	private SolverConfig config = new SolverConfig();
+	private MinesweeperBoard.FirstReveal firstReveal = MinesweeperBoard.FirstReveal.ANY;
+	private ResultWriter results;
+
+	/**
+	 * Initializes a new <code>TrialRunner</code> that plays games on randomly
+	 * generated boards of the given dimensions and number of mines.
+	 *
+	 * @param width The width of each board.
+	 * @param height The height of each board.
+	 * @param mines The number of mines on each board.
+	 * @throws IllegalArgumentException If the dimensions or number of mines
+	 * do not describe a valid board.
+	 */
+	public TrialRunner(int width, int height, int mines) {
+		this(width, height, mines, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * Initializes a new <code>TrialRunner</code> whose games are derived from
+	 * the given seed.  Every trial gets its own generator, seeded from this
+	 * seed and the index of the trial, which places the mines and then breaks
+	 * ties between guesses.  Runs with the same seed therefore play the same
+	 * games, regardless of how the trials are distributed over threads.
+	 *
+	 * @param width The width of each board.
+	 * @param height The height of each board.
+	 * @param mines The number of mines on each board.
+	 * @param seed The seed from which all games are derived.
+	 * @throws IllegalArgumentException If the dimensions or number of mines
+	 * do not describe a valid board.
+	 */
+	public TrialRunner(int width, int height, int mines, long seed) {
+		if (width < 1 || height < 1 || mines < 0 || mines > width * height)
+			throw new IllegalArgumentException();
+
+		this.width = width;
+		this.height = height;
+		this.mines = mines;
+		this.seed = seed;
+		corpus = null;
+	}
+
+	/**
+	 * Initializes a new <code>TrialRunner</code> that plays the boards of a
+	 * corpus: trial <code>i</code> plays board <code>i % corpus.size()</code>,
+	 * with a generator seeded from the given seed and the index of the trial
+	 * breaking ties between guesses.  Runs with the same corpus and seed
+	 * therefore play the same games.  The corpus must stay open while the
+	 * runner plays.
+	 *
+	 * @param corpus The boards to play.
+	 * @param seed The seed from which the generators of the trials are
+	 * derived.
+	 * @throws IllegalArgumentException If <code>corpus</code> is
+	 * <code>null</code> or empty.
+	 */
+	public TrialRunner(BoardCorpus corpus, long seed) {
+		if (corpus == null || corpus.size() == 0)
+			throw new IllegalArgumentException();
+
+		width = corpus.getWidth();
+		height = corpus.getHeight();
+		mines = -1;
+		this.seed = seed;
+		this.corpus = corpus;
+	}
+
+	/**
+	 * Returns the seed from which all games of this runner are derived.
+	 *
+	 * @return The seed of this runner.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Sets whether games are solved in exact mode (see
+	 * {@link SolverConfig#SolverConfig(boolean)}).
+	 *
+	 * @param exact Whether to solve games in exact mode.
+	 */
+	public void setExact(boolean exact) {
+		config = new SolverConfig(exact);
+	}
+
+	/**
+	 * Sets the deduction stages of the solvers that play the games of
+	 * subsequent runs.
+	 *
+	 * @param config The configuration of the solvers.
+	 * @throws IllegalArgumentException If <code>config</code> is
+	 * <code>null</code>.
+	 */
+	public void setConfig(SolverConfig config) {
+		if (config == null)
+			throw new IllegalArgumentException();
+
+		this.config = config;
+	}
+
+	/**
+	 * Sets the guarantee for the first reveal of the boards of subsequent
+	 * runs (see {@link MinesweeperBoard.FirstReveal}).  Games are not lost on
+	 * the first move when the guarantee is {@link MinesweeperBoard.FirstReveal#SAFE}
+	 * or {@link MinesweeperBoard.FirstReveal#ZERO}.
+	 *
+	 * @param firstReveal The guarantee for the first reveal.
+	 * @throws IllegalArgumentException If <code>firstReveal</code> is
+	 * <code>null</code>.
+	 */
+	public void setFirstReveal(MinesweeperBoard.FirstReveal firstReveal) {
+		if (firstReveal == null)
+			throw new IllegalArgumentException();
+
+		this.firstReveal = firstReveal;
+	}
+
+	/**
+	 * Sets where subsequent runs write the record of each game, or stops
+	 * writing records.  Every range of trials played by one thread writes
+	 * through a batch of its own (see {@link ResultWriter#batch()}), which is
+	 * flushed when the range is done; the caller closes the writer after the
+	 * last run.
+	 *
+	 * @param results The writer of the game records, or <code>null</code>
+	 * to write none.
+	 */
+	public void setResults(ResultWriter results) {
+		this.results = results;
+	}
+
+	/**
+	 * Returns the seed of the generator used for a specific trial.
+	 *
+	 * @param trial The index of the trial.
+	 * @return The seed of the generator used for the trial.
+	 */
+	public long getTrialSeed(int trial) {
+		long z = seed + 0x9e3779b97f4a7c15L * (trial + 1L);
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Plays a single trial again, making exactly the same moves as when it was
+	 * played during a run.  The returned board is left in its final state, so
+	 * a failed game (see {@link TrialStats#getFirstFailure()}) can be
+	 * inspected.
+	 *
+	 * @param trial The index of the trial to replay.
+	 * @return The board of the trial after the solver has finished.
+	 */
+	public MinesweeperBoard replay(int trial) {
+		SplittableRandom random = new SplittableRandom(getTrialSeed(trial));
+		MinesweeperBoard board = board(trial, random, null);
+		new MinesweeperSolver(config).solve(board, random);
+		return board;
+	}
+
+	/**
+	 * Plays the specified number of games one after another on the calling
+	 * thread.
+	 *
+	 * @param trials The number of games to play.
+	 * @return The aggregated statistics of all games.
+	 */
+	public TrialStats runSequential(int trials) {
+		long start = System.nanoTime();
+		TrialStats stats = playRange(0, trials);
+		stats.setElapsedNanos(System.nanoTime() - start);
+		return stats;
+	}
+
+	/**
+	 * Plays the specified number of games on a fork-join pool.  The trials
+	 * are split into contiguous ranges; each range is played into its own
+	 * {@link TrialStats} accumulator and the partial results are merged as
+	 * the tasks join, so no state is shared between workers while games are
+	 * running.
+	 *
+	 * @param trials The number of games to play.
+	 * @param parallelism The number of worker threads to use.
+	 * @return The aggregated statistics of all games.
+	 * @throws IllegalArgumentException If <code>parallelism</code> is not
+	 * positive.
+	 */
+	public TrialStats runParallel(int trials, int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException();
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			long start = System.nanoTime();
+			int grain = Math.max(1, trials / (parallelism * 8));
+			TrialStats stats = pool.invoke(new RangeTask(0, trials, grain));
+			stats.setElapsedNanos(System.nanoTime() - start);
+			return stats;
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/* Plays a range of trials on one board and one solver, which are
+	 * regenerated and cleared for every game instead of reallocated. */
+	private TrialStats playRange(int from, int to) {
+		TrialStats stats = new TrialStats();
+		MinesweeperBoard board = null;
+		MinesweeperSolver solver = new MinesweeperSolver(config);
+		ResultWriter.Batch batch = results == null ? null : results.batch();
+		for (int i = from; i < to; i++) {
+			SplittableRandom random = new SplittableRandom(getTrialSeed(i));
+			board = board(i, random, board);
+			long start = batch == null ? 0 : System.nanoTime();
+			int found = solver.solve(board, random);
+			stats.record(i, found, board.getMines());
+			if (batch != null)
+				batch.record(i, getTrialSeed(i), width, height, board.getMines(), found, solver.getGuesses(), System.nanoTime() - start);
+		}
+		if (batch != null)
+			batch.flush();
+		stats.setMetrics(solver.getMetrics());
+		return stats;
+	}
+
+	/* Sets up the board of a trial, in the given board if there is one. */
+	private MinesweeperBoard board(int trial, SplittableRandom random, MinesweeperBoard board) {
+		if (corpus != null) {
+			if (board == null) {
+				board = new MinesweeperBoard(width, height, 0);
+				board.setFirstReveal(firstReveal);
+			}
+			return corpus.load(trial % corpus.size(), board);
+		}
+		if (board == null)
+			return new MinesweeperBoard(width, height, mines, random, firstReveal);
+		board.regenerate(random);
+		return board;
+	}
+
+	private class RangeTask extends RecursiveTask<TrialStats> {
+		private static final long serialVersionUID = 1L;
+
+		private final int from, to, grain;
+
+		RangeTask(int from, int to, int grain) {
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		protected TrialStats compute() {
+			if (to - from <= grain)
+				return playRange(from, to);
+			int mid = (from + to) >>> 1;
+			RangeTask left = new RangeTask(from, mid, grain);
+			left.fork();
+			TrialStats right = new RangeTask(mid, to, grain).compute();
+			return left.join().merge(right);
+		}
+	}
+}
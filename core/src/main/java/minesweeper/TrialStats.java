@@ -0,0 +1,147 @@
+package minesweeper;
+
+/**
+ * The outcomes of a series of games played by {@link TrialRunner}.
+ */
+public class TrialStats {
+	private long games;
+	private long successes;
+	private long minesFound;
+	private long elapsedNanos;
+	private int firstFailure = -1;
+	private SolverMetrics metrics;
+
+	/**
+	 * Records the outcome of a single game.
+	 *
+	 * @param trial The index of the trial that was played.
+	 * @param score The number of mines identified by the solver.
+	 * @param mines The number of mines on the board.
+	 */
+	public void record(int trial, int score, int mines) {
+		games++;
+		minesFound += score;
+		if (score == mines)
+			successes++;
+		else if (firstFailure < 0 || trial < firstFailure)
+			firstFailure = trial;
+	}
+
+	/**
+	 * Adds the counts of another <code>TrialStats</code> object to this one,
+	 * and its solver metrics to those of this one.  Only integer counts are
+	 * accumulated, so the merged result does not depend on the order in
+	 * which partial results are combined.
+	 *
+	 * @param other The statistics to merge into this object.
+	 * @return This object.
+	 */
+	public TrialStats merge(TrialStats other) {
+		games += other.games;
+		successes += other.successes;
+		minesFound += other.minesFound;
+		if (other.firstFailure >= 0 && (firstFailure < 0 || other.firstFailure < firstFailure))
+			firstFailure = other.firstFailure;
+		if (other.metrics != null)
+			metrics = metrics == null ? other.metrics : metrics.merge(other.metrics);
+		return this;
+	}
+
+	void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	void setMetrics(SolverMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Returns the number of games played.
+	 *
+	 * @return The number of games played.
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * Returns the number of games in which every mine was identified.
+	 *
+	 * @return The number of successful games.
+	 */
+	public long getSuccesses() {
+		return successes;
+	}
+
+	/**
+	 * Returns the total number of mines identified over all games.
+	 *
+	 * @return The total number of mines identified.
+	 */
+	public long getMinesFound() {
+		return minesFound;
+	}
+
+	/**
+	 * Returns the lowest index of a trial in which not every mine was
+	 * identified.  The trial can be played again with
+	 * {@link TrialRunner#replay(int)}.
+	 *
+	 * @return The index of the first failed trial, or -1 if every game was
+	 * successful.
+	 */
+	public int getFirstFailure() {
+		return firstFailure;
+	}
+
+	/**
+	 * Returns the average number of mines identified per game.
+	 *
+	 * @return The average score, or 0 if no games were played.
+	 */
+	public double getAverageScore() {
+		return games == 0 ? 0.0 : minesFound * 1.0 / games;
+	}
+
+	/**
+	 * Returns the fraction of games in which every mine was identified.
+	 *
+	 * @return The success rate, or 0 if no games were played.
+	 */
+	public double getSuccessRate() {
+		return games == 0 ? 0.0 : successes * 1.0 / games;
+	}
+
+	/**
+	 * Returns the wall-clock time taken to play all games.
+	 *
+	 * @return The elapsed time in nanoseconds.
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	/**
+	 * Returns the throughput of the run that produced these statistics.
+	 *
+	 * @return The number of games played per second of wall-clock time.
+	 */
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0.0 : games * 1e9 / elapsedNanos;
+	}
+
+	/**
+	 * Returns the metrics of the solvers that played the games, merged over
+	 * all threads, if the configuration of the run enabled them (see
+	 * {@link SolverConfig#setMetrics(boolean)}).
+	 *
+	 * @return The solver metrics, or <code>null</code> if none were kept.
+	 */
+	public SolverMetrics getMetrics() {
+		return metrics;
+	}
+
+	public String toString() {
+		return "average score == " + getAverageScore() + "\nsuccess rate == " + getSuccessRate() + "\ngames/second == " + getGamesPerSecond();
+	}
+}
@@ -0,0 +1,75 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the row masks of {@link Bitboard} do not change any decision
+ * of {@link MinesweeperSolver}: seeded games played with and without the
+ * masks must reveal and flag the same tiles in the same order, and the
+ * masks must score every hidden tile of the final positions as the byte
+ * state does.  The endgame is disabled so that late guesses are made by
+ * the scores.
+ */
+class BitboardTest {
+	private static final int GAMES = 300;
+
+	@Test
+	void heuristicDecisionsMatchByteState() {
+		assertSameGames(8, 8, 10, false);
+		assertSameGames(16, 16, 40, false);
+		assertSameGames(30, 16, 99, false);
+		assertSameGames(64, 20, 220, false);
+	}
+
+	@Test
+	void exactDecisionsMatchByteState() {
+		assertSameGames(8, 8, 10, true);
+		assertSameGames(30, 16, 99, true);
+	}
+
+	@Test
+	void fitsOnlyNarrowBoards() {
+		assertTrue(Bitboard.fits(64, 1000));
+		assertFalse(Bitboard.fits(65, 10));
+	}
+
+	private static void assertSameGames(int width, int height, int mines, boolean exact) {
+		MinesweeperSolver masked = new MinesweeperSolver(new SolverConfig(exact).setEndgameLimit(0));
+		MinesweeperSolver plain = new MinesweeperSolver(new SolverConfig(exact).setEndgameLimit(0));
+		MinesweeperBoard board = new MinesweeperBoard(width, height, mines);
+		plain.begin(board);
+		plain.bits = null;	/* kept null by every later game on boards of this size */
+		for (int game = 0; game < GAMES; game++) {
+			long seed = game * 0x9e3779b97f4a7c15L + width;
+			board.regenerate(new SplittableRandom(seed));
+			int found = masked.solve(board, new SplittableRandom(seed));
+			int revealed = board.getRevealed();
+			board.reset();
+			assertEquals(found, plain.solve(board, new SplittableRandom(seed)), "mines found in game " + game);
+			assertEquals(revealed, board.getRevealed(), "tiles revealed in game " + game);
+			assertEquals(masked.getGuesses(), plain.getGuesses(), "guesses in game " + game);
+			for (int i = 0; i < found; i++)
+				assertEquals(masked.getMine(i), plain.getMine(i), "mine " + i + " of game " + game);
+			assertSameScores(masked, game);
+		}
+		assertNotNull(masked.bits);
+		assertNull(plain.bits);
+	}
+
+	/* Compares the scores of the masks with those of the byte state. */
+	private static void assertSameScores(MinesweeperSolver solver, int game) {
+		Bitboard bits = solver.bits;
+		for (int c = 0; c < solver.state.length; c++) {
+			if (solver.state[c] != MinesweeperBoard.HIDDEN)
+				continue;
+			double score = bits.score(c, solver.state);
+			solver.bits = null;
+			assertEquals(solver.getScore(c), score, "score of cell " + c + " in game " + game);
+			solver.bits = bits;
+		}
+	}
+}
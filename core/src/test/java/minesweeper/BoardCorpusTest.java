@@ -0,0 +1,103 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Writes random boards to a {@link BoardCorpus} and checks that loading
+ * them back yields the same mines and counts, for sizes whose bitmaps end
+ * inside a word, on a word boundary and in a single tile, and for more
+ * boards than the writer buffers at once.
+ */
+class BoardCorpusTest {
+	private static final int[][] SIZES = {{30, 16, 99}, {9, 9, 10}, {64, 64, 600}, {7, 3, 21}, {1, 1, 1}};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void boardsRoundTrip() throws IOException {
+		SplittableRandom random = new SplittableRandom(25);
+		Path path = dir.resolve("corpus.bin");
+		for (int[] size : SIZES) {
+			List<MinesweeperBoard> boards = new ArrayList<>();
+			try (BoardCorpus.Writer writer = new BoardCorpus.Writer(path, size[0], size[1])) {
+				for (int i = 0; i < 2000; i++) {
+					MinesweeperBoard board = new MinesweeperBoard(size[0], size[1], random.nextInt(size[2] + 1), random.nextLong());
+					boards.add(board);
+					writer.add(board);
+				}
+			}
+			assertEquals(16 + 2000L * 8 * ((size[0] * size[1] + 63) / 64), Files.size(path));
+			try (BoardCorpus corpus = new BoardCorpus(path)) {
+				assertEquals(size[0], corpus.getWidth());
+				assertEquals(size[1], corpus.getHeight());
+				assertEquals(boards.size(), corpus.size());
+				MinesweeperBoard loaded = null;
+				for (int i = 0; i < corpus.size(); i++) {
+					loaded = corpus.load(i, loaded);
+					assertSameBoard(boards.get(i), loaded);
+				}
+			}
+		}
+	}
+
+	@Test
+	void bitmapRoundTripsAtAnOffset() {
+		SplittableRandom random = new SplittableRandom(24);
+		LongBuffer bits = LongBuffer.allocate(20);
+		for (int game = 0; game < 200; game++) {
+			MinesweeperBoard board = new MinesweeperBoard(65, 10, random.nextInt(300), random.nextLong());
+			board.storeMines(bits, 9);
+			MinesweeperBoard loaded = new MinesweeperBoard(65, 10, 0);
+			loaded.loadMines(bits, 9);
+			assertSameBoard(board, loaded);
+		}
+		MinesweeperBoard board = new MinesweeperBoard(65, 10, 0);
+		assertThrows(IllegalArgumentException.class, () -> board.storeMines(bits, 10));
+		assertThrows(IllegalArgumentException.class, () -> board.loadMines(bits, -1));
+		assertThrows(IllegalArgumentException.class, () -> board.loadMines(null, 0));
+	}
+
+	@Test
+	void rejectsForeignAndTruncatedFiles() throws IOException {
+		Path path = dir.resolve("corpus.bin");
+		Files.write(path, new byte[16]);
+		assertThrows(IOException.class, () -> new BoardCorpus(path));
+
+		try (BoardCorpus.Writer writer = new BoardCorpus.Writer(path, 9, 9)) {
+			writer.add(new MinesweeperBoard(9, 9, 10, 1L));
+			assertThrows(IllegalArgumentException.class, () -> writer.add(new MinesweeperBoard(9, 8, 10, 1L)));
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(path) - 1);
+		}
+		assertThrows(IOException.class, () -> new BoardCorpus(path));
+	}
+
+	/* Compares the mines and, by revealing every safe tile of both boards,
+	 * the counts. */
+	private static void assertSameBoard(MinesweeperBoard expected, MinesweeperBoard actual) {
+		assertEquals(expected.getMines(), actual.getMines());
+		assertEquals(0, actual.getRevealed());
+		for (int row = 0; row < expected.getHeight(); row++)
+			for (int column = 0; column < expected.getWidth(); column++) {
+				int i = expected.getIndex(row, column);
+				assertEquals(expected.isMine(i), actual.isMine(i), "mine at " + row + ", " + column);
+				if (!expected.isMine(i))
+					assertEquals(expected.reveal(i), actual.reveal(i), "count at " + row + ", " + column);
+			}
+	}
+}
@@ -0,0 +1,58 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Materializes every chunk of {@link ChunkedBoard}s of sizes that fit in a
+ * single tile, end just short of, on and just past chunk boundaries, and
+ * span a single partial chunk row, and checks the count of every tile
+ * against a recount of the mines placed in all chunks.
+ */
+class ChunkedBoardTest {
+	private static final int[][] SIZES = {{1, 1, 0}, {1, 1, 1}, {63, 65, 800}, {64, 64, 600}, {65, 130, 2000}, {3, 200, 120}, {65, 130, 8450}};
+
+	@Test
+	void countsMatchPlacedMines() {
+		for (int[] size : SIZES)
+			for (long seed = 0; seed < 5; seed++) {
+				int width = size[0], height = size[1];
+				ChunkedBoard board = new ChunkedBoard(width, height, size[2], seed);
+				String name = width + "x" + height + "/" + size[2] + " seed " + seed;
+				boolean[][] mines = new boolean[height][width];
+				int placed = 0;
+				for (int row = 0; row < height; row++)
+					for (int column = 0; column < width; column++)
+						if (mines[row][column] = board.isMine(index(board, row, column)))
+							placed++;
+				assertEquals(size[2], placed, name);
+				int chunk = board.getChunkSize();
+				assertEquals(((width + chunk - 1) / chunk) * ((height + chunk - 1) / chunk), board.getMaterializedChunks(), name);
+
+				for (int row = 0; row < height; row++)
+					for (int column = 0; column < width; column++)
+						if (!mines[row][column]) {
+							int i = index(board, row, column);
+							assertEquals(MinesweeperBoard.HIDDEN, board.getTile(i));
+							assertEquals(adjacent(mines, row, column), board.reveal(i), name + " at " + row + ", " + column);
+							assertEquals(adjacent(mines, row, column), board.getTile(i));
+						}
+				assertEquals(width * height - size[2], board.getRevealed(), name);
+				assertFalse(board.hasRevealedMine(), name);
+			}
+	}
+
+	private static int index(ChunkedBoard board, int row, int column) {
+		return (row + 1) * (board.getWidth() + 2) + column + 1;
+	}
+
+	private static int adjacent(boolean[][] mines, int row, int column) {
+		int n = 0;
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, mines.length - 1); r++)
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, mines[0].length - 1); c++)
+				if ((r != row || c != column) && mines[r][c])
+					n++;
+		return n;
+	}
+}
@@ -0,0 +1,91 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Plays small hand-built positions whose exact answer is known, in both
+ * solver modes: one where only the number of mines left shows which tiles
+ * are safe, so the endgame reveals one and every game is won, and a 50/50,
+ * where the solver guesses one of the two tiles at a probability of one
+ * half and wins half of its games.
+ */
+class EndgameTest {
+	private static final int GAMES = 2000;
+
+	@Test
+	void mineCountDeterminesSafeTiles() {
+		/* Each number sees the center and two corners, so either the center
+		 * or two opposite corners are mines; with one mine, the corners are
+		 * safe. */
+		String[] position = {
+			"#.#",
+			".*.",
+			"#.#"};
+		for (boolean exact : new boolean[] {false, true}) {
+			Move move = new MinesweeperSolver(new SolverConfig().setExact(exact)).nextMove(board(position), new SplittableRandom(1));
+			assertEquals(Move.Action.REVEAL, move.getAction());
+			assertEquals(Move.Reason.ENDGAME, move.getReason());
+			assertTrue(move.getRow() != 1 && move.getColumn() != 1, "not a corner: " + move);
+			assertEquals(0.0, move.getProbability());
+			assertEquals(GAMES, wins(position, new SolverConfig().setExact(exact)));
+		}
+		Move move = new MinesweeperSolver(new SolverConfig().setEndgameLimit(0)).nextMove(board(position), new SplittableRandom(1));
+		assertEquals(Move.Reason.GUESS, move.getReason(), "deduced without counting the mines");
+	}
+
+	@Test
+	void fiftyFiftyIsGuessed() {
+		/* Both numbers see only the two tiles of the top row. */
+		String[] position = {
+			"*#",
+			"..",
+			".."};
+		for (boolean exact : new boolean[] {false, true}) {
+			Move move = new MinesweeperSolver(new SolverConfig().setExact(exact)).nextMove(board(position), new SplittableRandom(1));
+			assertEquals(Move.Action.REVEAL, move.getAction());
+			assertEquals(Move.Reason.GUESS, move.getReason());
+			assertEquals(0, move.getRow());
+			assertEquals(0.5, move.getProbability());
+			assertEquals(0.5, wins(position, new SolverConfig().setExact(exact)) / (double)GAMES, 0.05);
+		}
+	}
+
+	/* The number of games won from a position by a solver of the given
+	 * configuration, each with a random generator of its own seed. */
+	private static int wins(String[] position, SolverConfig config) {
+		MinesweeperSolver solver = new MinesweeperSolver(config);
+		int won = 0;
+		for (int game = 0; game < GAMES; game++) {
+			MinesweeperBoard board = board(position);
+			SplittableRandom random = new SplittableRandom(game);
+			Move move;
+			while ((move = solver.nextMove(board, random)) != null)
+				if (move.getAction() == Move.Action.REVEAL)
+					board.revealTile(move.getRow(), move.getColumn());
+			if (!board.hasRevealedMine()) {
+				assertEquals(board.getWidth() * board.getHeight() - board.getMines(), board.getRevealed());
+				won++;
+			}
+		}
+		return won;
+	}
+
+	/* A board with a mine at each '*' and the tiles at each '.' revealed;
+	 * '#' is a hidden safe tile. */
+	private static MinesweeperBoard board(String[] position) {
+		int[][] mines = new int[position.length][position[0].length()];
+		for (int row = 0; row < mines.length; row++)
+			for (int column = 0; column < mines[row].length; column++)
+				mines[row][column] = position[row].charAt(column) == '*' ? 1 : 0;
+		MinesweeperBoard board = new MinesweeperBoard(mines);
+		for (int row = 0; row < mines.length; row++)
+			for (int column = 0; column < mines[row].length; column++)
+				if (position[row].charAt(column) == '.')
+					board.revealTile(row, column);
+		return board;
+	}
+}
@@ -0,0 +1,75 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the guarantees of {@link MinesweeperBoard.FirstReveal} on many
+ * generated boards: the first reveal of a random tile is never a mine with
+ * <code>SAFE</code> and always a zero with <code>ZERO</code>, unless the
+ * mines do not fit outside of its neighborhood, where it is only safe.
+ * Moving the mines out of the way must keep their number and leave every
+ * count right.
+ */
+class FirstRevealTest {
+	/* Sizes include nearly full boards on which ZERO can be satisfied only
+	 * in the corners, or nowhere. */
+	private static final int[][] SIZES = {{9, 9, 10}, {16, 16, 40}, {30, 16, 99}, {9, 9, 72}, {9, 9, 75}, {5, 5, 24}, {1, 1, 0}, {2, 1, 1}};
+
+	@Test
+	void firstRevealIsSafe() {
+		play(MinesweeperBoard.FirstReveal.SAFE, 20);
+	}
+
+	@Test
+	void firstRevealIsZero() {
+		play(MinesweeperBoard.FirstReveal.ZERO, 21);
+	}
+
+	private static void play(MinesweeperBoard.FirstReveal firstReveal, long seed) {
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int[] size : SIZES) {
+			int width = size[0], height = size[1], mines = size[2];
+			MinesweeperBoard board = new MinesweeperBoard(width, height, mines, random, firstReveal);
+			for (int game = 0; game < 2000; game++) {
+				if (game > 0)
+					board.regenerate(random);
+				String name = width + "x" + height + "/" + mines + " game " + game;
+				int row = random.nextInt(height), column = random.nextInt(width);
+				int tile = board.reveal(board.getIndex(row, column));
+				assertNotEquals(MinesweeperBoard.MINE, tile, name);
+				int around = (Math.min(row + 1, height - 1) - Math.max(row - 1, 0) + 1) * (Math.min(column + 1, width - 1) - Math.max(column - 1, 0) + 1);
+				if (firstReveal == MinesweeperBoard.FirstReveal.ZERO && width * height - around >= mines)
+					assertEquals(0, tile, name);
+				assertCounts(board, name);
+			}
+		}
+	}
+
+	/* Checks the number of mines, and reveals every other safe tile to check
+	 * its count. */
+	private static void assertCounts(MinesweeperBoard board, String name) {
+		int width = board.getWidth(), height = board.getHeight(), mines = 0;
+		for (int row = 0; row < height; row++)
+			for (int column = 0; column < width; column++)
+				if (board.isMine(board.getIndex(row, column)))
+					mines++;
+		assertEquals(board.getMines(), mines, name);
+		for (int row = 0; row < height; row++)
+			for (int column = 0; column < width; column++) {
+				int i = board.getIndex(row, column), n = 0;
+				if (board.isMine(i))
+					continue;
+				for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, height - 1); r++)
+					for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, width - 1); c++)
+						if (board.isMine(board.getIndex(r, c)))
+							n++;
+				if (board.getTile(i) == MinesweeperBoard.HIDDEN)
+					board.reveal(i);
+				assertEquals(n, board.getTile(i), name + " at " + row + ", " + column);
+			}
+	}
+}
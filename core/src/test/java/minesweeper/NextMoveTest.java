@@ -0,0 +1,58 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that {@link MinesweeperSolver#nextMove(BoardView,SplittableRandom)}
+ * proposes the same reveal until it is played, guesses included: a game in
+ * which every reveal is queried twice must play exactly like one in which
+ * it is queried once, and only the guesses that were played are counted.
+ * Flags are proposed once by design.
+ */
+class NextMoveTest {
+	@Test
+	void repeatedQueriesProposeTheSameMove() {
+		MinesweeperSolver once = new MinesweeperSolver(new SolverConfig().setMetrics(true));
+		MinesweeperSolver twice = new MinesweeperSolver(new SolverConfig().setMetrics(true));
+		int guessed = 0;
+		for (int game = 0; game < 300; game++) {
+			MinesweeperBoard board = new MinesweeperBoard(30, 16, 99, game);
+			List<String> expected = play(once, board, new SplittableRandom(game), 1);
+			board.reset();
+			List<String> actual = play(twice, board, new SplittableRandom(game), 2);
+			assertEquals(expected, actual, "moves of game " + game);
+			int played = 0;
+			for (String move : actual)
+				if (move.contains("GUESS"))
+					played++;
+			assertEquals(played, twice.getGuesses(), "guesses of game " + game);
+			guessed += played;
+		}
+		assertEquals(guessed, twice.getMetrics().getRevealed(Move.Reason.GUESS));
+		assertEquals(once.getMetrics().toJson().replaceAll("\"nanos\":\\d+", ""), twice.getMetrics().toJson().replaceAll("\"nanos\":\\d+", ""));
+	}
+
+	/* Plays a game by the proposed moves, querying each reveal the given
+	 * number of times, and returns the moves played. */
+	private static List<String> play(MinesweeperSolver solver, MinesweeperBoard board, SplittableRandom random, int queries) {
+		List<String> moves = new ArrayList<>();
+		Move move;
+		while ((move = solver.nextMove(board, random)) != null) {
+			for (int q = 1; q < queries && move.getAction() == Move.Action.REVEAL; q++) {
+				Move again = solver.nextMove(board, random);
+				assertEquals(move.toString(), again.toString(), "move queried again");
+				assertEquals(move.getProbability(), again.getProbability());
+			}
+			moves.add(move.toString());
+			if (move.getAction() == Move.Action.REVEAL)
+				board.revealTile(move.getRow(), move.getColumn());
+		}
+		return moves;
+	}
+}
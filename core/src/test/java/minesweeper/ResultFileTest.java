@@ -0,0 +1,106 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Writes records through several {@link ResultWriter.Batch}es, enough to
+ * fill many buffers, and checks that {@link ResultReader} returns each of
+ * them once and unchanged, and that its summary agrees with the records.
+ * Files that are not result files or end within a record are rejected.
+ */
+class ResultFileTest {
+	private static final int BATCHES = 3, RECORDS = 10000;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void recordsRoundTrip() throws IOException {
+		Path path = dir.resolve("results.bin");
+		ResultSummary expected = new ResultSummary();
+		try (ResultWriter writer = new ResultWriter(path)) {
+			ResultWriter.Batch[] batches = new ResultWriter.Batch[BATCHES];
+			for (int b = 0; b < BATCHES; b++)
+				batches[b] = writer.batch();
+			for (int trial = 0; trial < RECORDS * BATCHES; trial++) {
+				int mines = 10 + trial % 90, found = found(trial, mines), guesses = trial % 7;
+				batches[trial % BATCHES].record(trial, seed(trial), 30, 16, mines, found, guesses, nanos(trial));
+				expected.record(trial, mines, found, guesses, nanos(trial));
+			}
+			for (ResultWriter.Batch batch : batches)
+				batch.flush();
+		}
+		assertEquals(8 + (long)ResultWriter.RECORD_SIZE * RECORDS * BATCHES, Files.size(path));
+
+		boolean[] seen = new boolean[RECORDS * BATCHES];
+		int[] last = new int[BATCHES];
+		Arrays.fill(last, -1);
+		try (ResultReader reader = new ResultReader(path)) {
+			while (reader.next()) {
+				int trial = reader.getTrial(), mines = 10 + trial % 90;
+				assertFalse(seen[trial], "record read twice");
+				seen[trial] = true;
+				assertTrue(trial > last[trial % BATCHES], "records of a batch out of order");
+				last[trial % BATCHES] = trial;
+				assertEquals(seed(trial), reader.getSeed());
+				assertEquals(30, reader.getWidth());
+				assertEquals(16, reader.getHeight());
+				assertEquals(mines, reader.getMines());
+				assertEquals(found(trial, mines), reader.getFound());
+				assertEquals(reader.getFound() == mines, reader.isWon());
+				assertEquals(trial % 7, reader.getGuesses());
+				assertEquals(nanos(trial), reader.getNanos());
+			}
+		}
+		for (boolean s : seen)
+			assertTrue(s, "record missing");
+
+		try (ResultReader reader = new ResultReader(path)) {
+			ResultSummary summary = reader.summarize();
+			assertEquals(expected.toString(), summary.toString());
+			assertEquals(expected.getFirstFailure(), summary.getFirstFailure());
+		}
+	}
+
+	@Test
+	void rejectsForeignAndTruncatedFiles() throws IOException {
+		Path path = dir.resolve("results.bin");
+		Files.write(path, new byte[] {'n', 'o', 'p', 'e', 0, 0, 0, 1});
+		assertThrows(IOException.class, () -> new ResultReader(path));
+
+		try (ResultWriter writer = new ResultWriter(path)) {
+			ResultWriter.Batch batch = writer.batch();
+			batch.record(0, 1L, 9, 9, 10, 10, 1, 5L);
+			batch.flush();
+		}
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(Files.size(path) - 1);
+		}
+		try (ResultReader reader = new ResultReader(path)) {
+			assertThrows(IOException.class, reader::next);
+		}
+	}
+
+	private static long seed(int trial) {
+		return new SplittableRandom(trial).nextLong();
+	}
+
+	private static int found(int trial, int mines) {
+		return trial % 3 == 0 ? mines - 1 - trial % 5 : mines;
+	}
+
+	private static long nanos(int trial) {
+		return 1000L * trial + (trial & 0xff) * 0x100000000L;
+	}
+}
@@ -0,0 +1,164 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks {@link BoardOracle#revealRegion(int, int[])} and the scanline fill
+ * of {@link MinesweeperBoard} against an independent flood fill over the
+ * mine layout: a click on a random safe tile of a random board must reveal
+ * exactly the tile, and for a zero its region of zeros and the numbers
+ * around it, each once and the clicked tile first.  The solver must also
+ * play sound games through the default fill.
+ */
+class RevealRegionTest {
+	private static final int[][] SIZES = {{1, 1}, {1, 9}, {9, 1}, {2, 2}, {8, 8}, {30, 16}, {64, 7}, {100, 40}};
+
+	@Test
+	void defaultFillMatchesFloodFill() {
+		SplittableRandom random = new SplittableRandom(18);
+		for (int[] size : SIZES)
+			for (int game = 0; game < 200; game++) {
+				int[][] mines = layout(size[0], size[1], random);
+				MinesweeperBoard board = new MinesweeperBoard(mines);
+				assertRegion(mines, oneAtATime(board), board, random);
+			}
+	}
+
+	@Test
+	void scanlineFillMatchesFloodFill() {
+		SplittableRandom random = new SplittableRandom(19);
+		for (int[] size : SIZES)
+			for (int game = 0; game < 200; game++) {
+				int[][] mines = layout(size[0], size[1], random);
+				MinesweeperBoard board = new MinesweeperBoard(mines);
+				assertRegion(mines, board, board, random);
+			}
+	}
+
+	@Test
+	void solverPlaysThroughDefaultFill() {
+		SplittableRandom random = new SplittableRandom(19);
+		MinesweeperSolver solver = new MinesweeperSolver();
+		for (int game = 0; game < 300; game++) {
+			int[][] mines = layout(30, 16, random);
+			MinesweeperBoard board = new MinesweeperBoard(mines);
+			int found = solver.solve(oneAtATime(board), random);
+			assertTrue(found == board.getMines() || board.hasRevealedMine(), "game " + game + " ended early");
+			for (int i = 0; i < found; i++)
+				assertEquals(1, mines[board.getRow(solver.getMine(i))][board.getColumn(solver.getMine(i))], "flag on a safe tile");
+		}
+	}
+
+	/* Checks one click on a random safe tile against the reference fill. */
+	private static void assertRegion(int[][] mines, BoardOracle oracle, MinesweeperBoard board, SplittableRandom random) {
+		int width = mines[0].length, height = mines.length, row, column;
+		do {
+			row = random.nextInt(height);
+			column = random.nextInt(width);
+		} while (mines[row][column] != 0);
+		boolean[][] expected = flood(mines, row, column);
+		int[] out = new int[width * height];
+		int n = oracle.revealRegion(board.getIndex(row, column), out);
+
+		assertEquals(board.getIndex(row, column), out[0]);
+		assertEquals(count(expected), n);
+		assertEquals(n, board.getRevealed());
+		boolean[] seen = new boolean[board.getIndex(height - 1, width - 1) + 1];
+		for (int i = 0; i < n; i++) {
+			int r = board.getRow(out[i]), c = board.getColumn(out[i]);
+			assertFalse(seen[out[i]], "tile revealed twice");
+			seen[out[i]] = true;
+			assertTrue(expected[r][c], "tile outside the region");
+			assertEquals(adjacent(mines, r, c), board.getTile(r, c));
+		}
+	}
+
+	/* Random mines at a density of up to a fifth, leaving at least one safe tile. */
+	static int[][] layout(int width, int height, SplittableRandom random) {
+		int[][] mines = new int[height][width];
+		double density = random.nextDouble(0.2);
+		for (int r = 0; r < height; r++)
+			for (int c = 0; c < width; c++)
+				mines[r][c] = random.nextDouble() < density ? 1 : 0;
+		mines[random.nextInt(height)][random.nextInt(width)] = 0;
+		return mines;
+	}
+
+	/* The tiles a click at (row, column) reveals, by breadth-first search. */
+	private static boolean[][] flood(int[][] mines, int row, int column) {
+		int height = mines.length, width = mines[0].length;
+		boolean[][] region = new boolean[height][width];
+		ArrayDeque<int[]> queue = new ArrayDeque<>();
+		region[row][column] = true;
+		queue.add(new int[] {row, column});
+		while (!queue.isEmpty()) {
+			int[] tile = queue.remove();
+			if (adjacent(mines, tile[0], tile[1]) != 0)
+				continue;
+			for (int r = Math.max(tile[0] - 1, 0); r <= Math.min(tile[0] + 1, height - 1); r++)
+				for (int c = Math.max(tile[1] - 1, 0); c <= Math.min(tile[1] + 1, width - 1); c++)
+					if (!region[r][c]) {
+						region[r][c] = true;
+						queue.add(new int[] {r, c});
+					}
+		}
+		return region;
+	}
+
+	private static int adjacent(int[][] mines, int row, int column) {
+		int n = 0;
+		for (int r = Math.max(row - 1, 0); r <= Math.min(row + 1, mines.length - 1); r++)
+			for (int c = Math.max(column - 1, 0); c <= Math.min(column + 1, mines[0].length - 1); c++)
+				if ((r != row || c != column) && mines[r][c] != 0)
+					n++;
+		return n;
+	}
+
+	private static int count(boolean[][] region) {
+		int n = 0;
+		for (boolean[] row : region)
+			for (boolean tile : row)
+				if (tile)
+					n++;
+		return n;
+	}
+
+	/* An oracle that forwards single reveals to a board, so that regions are
+	 * filled by the default implementation. */
+	private static BoardOracle oneAtATime(MinesweeperBoard board) {
+		return new BoardOracle() {
+			public int getWidth() {
+				return board.getWidth();
+			}
+
+			public int getHeight() {
+				return board.getHeight();
+			}
+
+			public int getMines() {
+				return board.getMines();
+			}
+
+			public int getTile(int index) {
+				return board.getTile(index);
+			}
+
+			public int getRevealed() {
+				return board.getRevealed();
+			}
+
+			public boolean hasRevealedMine() {
+				return board.hasRevealedMine();
+			}
+
+			public int reveal(int index) {
+				return board.reveal(index);
+			}
+		};
+	}
+}
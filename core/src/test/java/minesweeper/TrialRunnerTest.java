@@ -0,0 +1,35 @@
+package minesweeper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that a seeded {@link TrialRunner} plays the same games whether the
+ * trials run sequentially or split across threads, in both solver modes,
+ * and that a new runner with the same seed plays them again.
+ */
+class TrialRunnerTest {
+	private static final long SEED = 1;
+	private static final int TRIALS = 2000;
+
+	@Test
+	void parallelRunsMatchSequentialRuns() {
+		for (boolean exact : new boolean[] {false, true}) {
+			TrialRunner runner = new TrialRunner(16, 16, 40, SEED);
+			runner.setExact(exact);
+			TrialStats sequential = runner.runSequential(TRIALS);
+			for (int parallelism : new int[] {1, 2, 4}) {
+				TrialStats parallel = runner.runParallel(TRIALS, parallelism);
+				String mode = (exact ? "exact" : "heuristic") + " on " + parallelism + " threads";
+				assertEquals(sequential.getGames(), parallel.getGames(), mode);
+				assertEquals(sequential.getSuccesses(), parallel.getSuccesses(), mode);
+				assertEquals(sequential.getMinesFound(), parallel.getMinesFound(), mode);
+				assertEquals(sequential.getFirstFailure(), parallel.getFirstFailure(), mode);
+			}
+			TrialRunner again = new TrialRunner(16, 16, 40, SEED);
+			again.setExact(exact);
+			assertEquals(sequential.getMinesFound(), again.runParallel(TRIALS, 3).getMinesFound(), "a new runner with the same seed");
+		}
+	}
+}